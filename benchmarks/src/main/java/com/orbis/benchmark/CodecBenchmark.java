@@ -0,0 +1,55 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of a generated exception with message and params, through the generated binary codec
+ * and through Java serialization. The size of both encodings is printed at setup.
+ *
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar CodecBenchmark -prof gc
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private final PaymentRejectedException exception = new PaymentRejectedException("payment {} rejected: {}",
+            new Object[]{"ord-20251017-0042", 402, 1999L});
+
+    @Setup
+    public void printSizes() throws IOException {
+        System.out.println("binary codec: " + CodecExceptionsCodec.encode(exception).length
+                + " bytes, serialization: " + serialize(exception).length + " bytes");
+    }
+
+    @Benchmark
+    public Object binaryCodec() {
+        return CodecExceptionsCodec.decode(CodecExceptionsCodec.encode(exception));
+    }
+
+    @Benchmark
+    public Object serialization() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(serialize(exception)))) {
+            return input.readObject();
+        }
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
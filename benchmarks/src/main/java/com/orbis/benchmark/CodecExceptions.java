@@ -0,0 +1,10 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+
+/**
+ * Exception sent between services, used by {@link CodecBenchmark}.
+ */
+@ExceptionMaker(classesName = {"PaymentRejectedException"}, binaryCodec = true)
+public interface CodecExceptions {
+}
@@ -0,0 +1,90 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of capturing the stack trace in a deep call stack, with the full JVM stack trace
+ * and with a compact stack trace of 8 frames, and of reading it.
+ *
+ * <p>The {@code throw} benchmarks throw and catch the exception without reading or printing
+ * its stack trace, the common path of a handled failure: the compact frames are never
+ * converted to {@link StackTraceElement}.</p>
+ *
+ * <p>Run with the allocation profiler to compare the retained memory:</p>
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar CompactStackTraceBenchmark -prof gc
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactStackTraceBenchmark {
+
+    private static final String MESSAGE = "user not found";
+
+    @Param({"150"})
+    private int depth;
+
+    private final Supplier<RuntimeException> fullStackTrace = () -> new DefaultFailureException(MESSAGE);
+    private final Supplier<RuntimeException> compactStackTrace = () -> new CompactFailureException(MESSAGE);
+
+    @Benchmark
+    public Object constructFull() {
+        return callAtDepth(depth, fullStackTrace);
+    }
+
+    @Benchmark
+    public Object constructCompact() {
+        return callAtDepth(depth, compactStackTrace);
+    }
+
+    @Benchmark
+    public Object throwFull() {
+        return throwAtDepth(depth, fullStackTrace);
+    }
+
+    @Benchmark
+    public Object throwCompact() {
+        return throwAtDepth(depth, compactStackTrace);
+    }
+
+    @Benchmark
+    public Object readFull() {
+        return callAtDepth(depth, fullStackTrace).getStackTrace();
+    }
+
+    @Benchmark
+    public Object readCompact() {
+        return callAtDepth(depth, compactStackTrace).getStackTrace();
+    }
+
+    /**
+     * Throws the exception created at {@code remaining} frames of depth and catches it, without reading its stack trace.
+     */
+    private static RuntimeException throwAtDepth(int remaining, Supplier<RuntimeException> action) {
+        try {
+            throw callAtDepth(remaining, action);
+        } catch (RuntimeException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * Adds {@code remaining} frames to the call stack before creating the exception.
+     */
+    private static RuntimeException callAtDepth(int remaining, Supplier<RuntimeException> action) {
+        if (remaining <= 1) {
+            return action.get();
+        }
+        return callAtDepth(remaining - 1, action);
+    }
+}
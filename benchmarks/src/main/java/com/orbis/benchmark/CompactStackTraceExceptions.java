@@ -0,0 +1,10 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+
+/**
+ * Exception generated with a compact stack trace of 8 frames, used by {@link CompactStackTraceBenchmark}.
+ */
+@ExceptionMaker(classesName = {"CompactFailureException"}, stackTraceDepth = 8)
+public interface CompactStackTraceExceptions {
+}
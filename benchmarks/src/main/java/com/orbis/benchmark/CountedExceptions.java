@@ -0,0 +1,18 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.exception.annotations.ExceptionRunner;
+
+/**
+ * The same preallocated exception thrown with and without throw counter, used by {@link ThrowCounterBenchmark}.
+ */
+@ExceptionMaker(classesName = {"QuotaExceededException"})
+public interface CountedExceptions {
+
+    @ExceptionRunner(exceptionClass = "QuotaExceededException", componentModel = "static", message = "quota exceeded", preallocated = true)
+    void quotaExceeded();
+
+    @ExceptionRunner(exceptionClass = "QuotaExceededException", componentModel = "static", message = "quota exceeded", preallocated = true,
+            countThrows = true)
+    void countedQuotaExceeded();
+}
@@ -0,0 +1,52 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a generated exception from its name, through the generated {@code ExceptionFactories}
+ * and through reflection, with {@code Class.forName(...).getConstructor(...).newInstance(...)}
+ * as done by deserializers, and with a cached {@link Constructor}.
+ *
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar FactoryBenchmark -prof gc
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+    private final String simpleName = "TokenExpiredException";
+    private final String qualifiedName = FactoryExceptions.class.getPackageName() + "." + simpleName;
+    private final Object[] params = {"tok-42"};
+    private Constructor<?> cachedConstructor;
+
+    @Setup
+    public void cacheConstructor() throws ReflectiveOperationException {
+        cachedConstructor = Class.forName(qualifiedName).getConstructor(String.class, Object[].class);
+    }
+
+    @Benchmark
+    public Object factoryTable() {
+        return ExceptionFactories.create(simpleName, "Token {} expired", params);
+    }
+
+    @Benchmark
+    public Object reflection() throws ReflectiveOperationException {
+        return Class.forName(qualifiedName).getConstructor(String.class, Object[].class).newInstance("Token {} expired", params);
+    }
+
+    @Benchmark
+    public Object cachedReflection() throws ReflectiveOperationException {
+        return cachedConstructor.newInstance("Token {} expired", params);
+    }
+}
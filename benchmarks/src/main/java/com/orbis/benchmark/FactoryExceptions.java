@@ -0,0 +1,16 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+
+/**
+ * Stackless exceptions created by name, used by {@link FactoryBenchmark}: without stack trace
+ * the benchmark measures the lookup and the construction, not the stack walk.
+ */
+@ExceptionMaker(
+        classesName = {"AccountLockedException", "AccountClosedException", "PlanExpiredException",
+                "RateLimitedException", "TokenExpiredException", "TokenRevokedException"},
+        stackless = true,
+        factoryTable = true
+)
+public interface FactoryExceptions {
+}
@@ -0,0 +1,171 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of constructing, throwing and catching the generated exceptions,
+ * compared with hand-written baselines.
+ *
+ * <p>Every variant of the generator is measured: the {@code (String)} constructor,
+ * the {@code (String, Object[])} constructor, the {@code (Object... param)} constructor and the
+ * typed {@code (String, int)} constructor. The {@code throw} benchmarks call the generated {@code *Impl}
+ * methods, except the varargs ones: the {@code *Impl} method calls the typed constructor, so they throw
+ * the exception created with an explicit array, as a varargs call does. All the benchmarks
+ * run at the bottom of a call stack of {@code depth} frames, because the cost of
+ * {@code fillInStackTrace} grows with the depth of the stack.</p>
+ *
+ * <p>Run with:</p>
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar GeneratedExceptionBenchmark
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedExceptionBenchmark {
+
+    private static final String MESSAGE = "user not found";
+    private static final String CODE = "USR-404";
+    private static final int STATUS = 404;
+
+    @Param({"1", "100"})
+    private int depth;
+
+    private final Object[] params = {CODE, STATUS};
+    private final MessageExceptions messageExceptions = new MessageExceptionsImpl();
+    private final VarargsExceptions varargsExceptions = new VarargsExceptionsImpl();
+
+    private final Supplier<Object> constructMessage = () -> new MessageFailureException(MESSAGE);
+    private final Supplier<Object> constructMessageBaseline = () -> new HandWrittenException(MESSAGE);
+    private final Supplier<Object> constructParams = () -> new MessageFailureException(MESSAGE, params);
+    private final Supplier<Object> constructParamsBaseline = () -> new HandWrittenException(MESSAGE, params);
+    private final Supplier<Object> constructVarargs = () -> new VarargsFailureException(new Object[]{CODE, STATUS});
+    private final Supplier<Object> constructVarargsBaseline = () -> new HandWrittenVarargsException(CODE, STATUS);
+    private final Supplier<Object> constructTyped = () -> new VarargsFailureException(CODE, STATUS);
+
+    private final Supplier<Object> throwMessage = () -> {
+        messageExceptions.messageFailure(MESSAGE);
+        return null;
+    };
+    private final Supplier<Object> throwMessageBaseline = () -> {
+        throw new HandWrittenException(MESSAGE);
+    };
+    private final Supplier<Object> throwParams = () -> {
+        messageExceptions.paramsFailure(MESSAGE, params);
+        return null;
+    };
+    private final Supplier<Object> throwParamsBaseline = () -> {
+        throw new HandWrittenException(MESSAGE, params);
+    };
+    private final Supplier<Object> throwVarargs = () -> {
+        throw new VarargsFailureException(new Object[]{CODE, STATUS});
+    };
+    private final Supplier<Object> throwVarargsBaseline = () -> {
+        throw new HandWrittenVarargsException(CODE, STATUS);
+    };
+    private final Supplier<Object> throwTyped = () -> {
+        varargsExceptions.varargsFailure(CODE, STATUS);
+        return null;
+    };
+
+    @Benchmark
+    public Object constructMessage() {
+        return callAtDepth(depth, constructMessage);
+    }
+
+    @Benchmark
+    public Object constructMessageBaseline() {
+        return callAtDepth(depth, constructMessageBaseline);
+    }
+
+    @Benchmark
+    public Object constructParams() {
+        return callAtDepth(depth, constructParams);
+    }
+
+    @Benchmark
+    public Object constructParamsBaseline() {
+        return callAtDepth(depth, constructParamsBaseline);
+    }
+
+    @Benchmark
+    public Object constructVarargs() {
+        return callAtDepth(depth, constructVarargs);
+    }
+
+    @Benchmark
+    public Object constructVarargsBaseline() {
+        return callAtDepth(depth, constructVarargsBaseline);
+    }
+
+    @Benchmark
+    public Object constructTyped() {
+        return callAtDepth(depth, constructTyped);
+    }
+
+    @Benchmark
+    public Object throwMessage() {
+        return throwAndCatch(throwMessage);
+    }
+
+    @Benchmark
+    public Object throwMessageBaseline() {
+        return throwAndCatch(throwMessageBaseline);
+    }
+
+    @Benchmark
+    public Object throwParams() {
+        return throwAndCatch(throwParams);
+    }
+
+    @Benchmark
+    public Object throwParamsBaseline() {
+        return throwAndCatch(throwParamsBaseline);
+    }
+
+    @Benchmark
+    public Object throwVarargs() {
+        return throwAndCatch(throwVarargs);
+    }
+
+    @Benchmark
+    public Object throwVarargsBaseline() {
+        return throwAndCatch(throwVarargsBaseline);
+    }
+
+    @Benchmark
+    public Object throwTyped() {
+        return throwAndCatch(throwTyped);
+    }
+
+    /**
+     * Runs the action at the bottom of the call stack and catches the thrown exception
+     * at the top, so the unwinding of all the frames is measured.
+     */
+    private Object throwAndCatch(Supplier<Object> action) {
+        try {
+            return callAtDepth(depth, action);
+        } catch (RuntimeException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * Adds {@code remaining} frames to the call stack before running the action.
+     */
+    private static Object callAtDepth(int remaining, Supplier<Object> action) {
+        if (remaining <= 1) {
+            return action.get();
+        }
+        return callAtDepth(remaining - 1, action);
+    }
+}
@@ -0,0 +1,23 @@
+package com.orbis.benchmark;
+
+/**
+ * Hand-written equivalent of the exceptions generated without custom parameter order,
+ * used as baseline by {@link GeneratedExceptionBenchmark}.
+ */
+public class HandWrittenException extends RuntimeException {
+    private final Object[] params;
+
+    public HandWrittenException(String message) {
+        super(message);
+        this.params = null;
+    }
+
+    public HandWrittenException(String message, Object[] params) {
+        super(message);
+        this.params = params;
+    }
+
+    public Object[] getParams() {
+        return params;
+    }
+}
@@ -0,0 +1,17 @@
+package com.orbis.benchmark;
+
+/**
+ * Hand-written equivalent of the exceptions generated with custom parameter order,
+ * used as baseline by {@link GeneratedExceptionBenchmark}.
+ */
+public class HandWrittenVarargsException extends RuntimeException {
+    private final Object param;
+
+    public HandWrittenVarargsException(Object... param) {
+        this.param = param;
+    }
+
+    public Object getParam() {
+        return param;
+    }
+}
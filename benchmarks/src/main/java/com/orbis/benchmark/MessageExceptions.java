@@ -0,0 +1,18 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.exception.annotations.ExceptionRunner;
+
+/**
+ * Exceptions generated with the default {@code (String)} and {@code (String, Object[])}
+ * constructors, used by {@link GeneratedExceptionBenchmark}.
+ */
+@ExceptionMaker(classesName = {"MessageFailureException"})
+public interface MessageExceptions {
+
+    @ExceptionRunner(exceptionClass = "MessageFailureException", componentModel = "spring")
+    void messageFailure(String message);
+
+    @ExceptionRunner(exceptionClass = "MessageFailureException", componentModel = "spring")
+    void paramsFailure(String message, Object[] params);
+}
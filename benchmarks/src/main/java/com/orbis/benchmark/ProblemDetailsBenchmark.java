@@ -0,0 +1,47 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of a generated exception as problem details JSON, into a reused {@code StringBuilder}
+ * and into a reused {@code ByteBuffer}. Run with the allocation profiler: both should allocate nothing.
+ *
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar ProblemDetailsBenchmark -prof gc
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemDetailsBenchmark {
+
+    private final PaymentRejectedException exception = new PaymentRejectedException("payment rejected",
+            new Object[]{"ord-20251017-0042", 402, 1999L});
+
+    private final StringBuilder text = new StringBuilder(256);
+    private final ByteBuffer bytes = ByteBuffer.allocate(256);
+
+    @Benchmark
+    public Object appendable() throws IOException {
+        text.setLength(0);
+        exception.writeTo(text);
+        return text;
+    }
+
+    @Benchmark
+    public Object byteBuffer() {
+        bytes.clear();
+        exception.writeTo(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,46 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of throwing and catching a generated exception,
+ * with and without {@code stackless} mode.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar StacklessBenchmark
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StacklessBenchmark {
+
+    private final Object[] params = {"user-42", 404};
+
+    @Benchmark
+    public Object throwDefault() {
+        try {
+            throw new DefaultFailureException("user not found", params);
+        } catch (DefaultFailureException exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object throwStackless() {
+        try {
+            throw new StacklessFailureException("user not found", params);
+        } catch (StacklessFailureException exception) {
+            return exception;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+
+/**
+ * Exceptions generated with and without stack trace, used by {@link StacklessBenchmark}.
+ */
+@ExceptionMaker(
+        classesName = {"DefaultFailureException", "StacklessFailureException"},
+        stacklessClassesName = {"StacklessFailureException"}
+)
+public interface StacklessExceptions {
+}
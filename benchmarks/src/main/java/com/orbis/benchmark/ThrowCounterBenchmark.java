@@ -0,0 +1,47 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the throw counter on the throw path, with many threads throwing the same exception.
+ *
+ * <p>Both methods rethrow the same preallocated instance, so the difference between them
+ * is the increment of the counter. Run with:</p>
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar ThrowCounterBenchmark
+ * }
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ThrowCounterBenchmark {
+
+    @Benchmark
+    public Object throwUncounted() {
+        try {
+            CountedExceptionsImpl.Static.quotaExceeded();
+            return null;
+        } catch (QuotaExceededException exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object throwCounted() {
+        try {
+            CountedExceptionsImpl.Static.countedQuotaExceeded();
+            return null;
+        } catch (QuotaExceededException exception) {
+            return exception;
+        }
+    }
+}
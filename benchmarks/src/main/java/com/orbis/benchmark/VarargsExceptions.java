@@ -0,0 +1,16 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.exception.annotations.ExceptionRunner;
+
+/**
+ * Exceptions generated with custom parameter order, used by {@link GeneratedExceptionBenchmark}:
+ * the runner method gives the exception a typed {@code (String, int)} constructor, besides the
+ * varargs {@code (Object... param)} one.
+ */
+@ExceptionMaker(classesName = {"VarargsFailureException"}, enableCustomParameterOrder = true)
+public interface VarargsExceptions {
+
+    @ExceptionRunner(exceptionClass = "VarargsFailureException", componentModel = "spring")
+    void varargsFailure(String code, int status);
+}
@@ -0,0 +1,55 @@
+package com.orbis.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of translating a cause into a generated exception, in a 50 frames deep call stack:
+ * a new exception with {@code initCause}, capturing a second stack trace, against {@code wrap}.
+ *
+ * <pre>
+ * {@code
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar WrapBenchmark -prof gc
+ * }
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WrapBenchmark {
+
+    private static final String MESSAGE = "storage unavailable";
+
+    private final IOException cause = new IOException("disk not mounted");
+
+    @Benchmark
+    public Object initCause() {
+        return callAtDepth(50, true);
+    }
+
+    @Benchmark
+    public Object wrap() {
+        return callAtDepth(50, false);
+    }
+
+    /**
+     * Adds {@code remaining} frames to the call stack before translating the cause.
+     */
+    private RuntimeException callAtDepth(int remaining, boolean initCause) {
+        if (remaining > 1) {
+            return callAtDepth(remaining - 1, initCause);
+        }
+        if (initCause) {
+            StorageUnavailableException exception = new StorageUnavailableException(MESSAGE);
+            exception.initCause(cause);
+            return exception;
+        }
+        return StorageUnavailableException.wrap(MESSAGE, cause);
+    }
+}
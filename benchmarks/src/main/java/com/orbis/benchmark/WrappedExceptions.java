@@ -0,0 +1,10 @@
+package com.orbis.benchmark;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+
+/**
+ * Exception translating a low-level cause, used by {@link WrapBenchmark}.
+ */
+@ExceptionMaker(classesName = {"StorageUnavailableException"})
+public interface WrappedExceptions {
+}
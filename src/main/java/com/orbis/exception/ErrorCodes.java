@@ -0,0 +1,69 @@
+package com.orbis.exception;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.type.InterfaceModelException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Assigns the error codes of the exceptions generated with {@link ExceptionMaker#errorCodes()}
+ * or {@link ExceptionMaker#codes()}, shared by {@link ExceptionMakerProcessor}, that writes
+ * the codes in the exceptions, and {@link ExceptionRegistryProcessor}, that writes the registries.
+ */
+final class ErrorCodes {
+
+    private ErrorCodes() {
+    }
+
+    /**
+     * Checks if the exceptions of an interface have error codes.
+     *
+     * @param exceptionMaker the annotation placed on the interface
+     * @return true if error codes are enabled
+     */
+    static boolean isEnabled(ExceptionMaker exceptionMaker) {
+        return exceptionMaker.errorCodes() || exceptionMaker.codes().length > 0;
+    }
+
+    /**
+     * Checks if the declared codes match the exception classes.
+     *
+     * @param exceptionMaker the annotation placed on the interface
+     * @return true if no code is declared, or one code is declared for each exception class
+     */
+    static boolean isValid(ExceptionMaker exceptionMaker) {
+        return exceptionMaker.codes().length == 0 || exceptionMaker.codes().length == exceptionMaker.classesName().length;
+    }
+
+    /**
+     * Returns the error code of each exception of an interface.
+     *
+     * <p>Declared codes are used as they are. Otherwise the code is derived from the
+     * qualified name of the exception, in the range {@code 100000-999999}, so it is the same
+     * on every build and does not depend on the order of the classes.</p>
+     *
+     * @param interfaceModel the annotated interface
+     * @return the code of each exception class name, in declaration order,
+     *         empty if the exceptions have no error code
+     */
+    static Map<String, Integer> assign(InterfaceModelException interfaceModel) {
+        ExceptionMaker exceptionMaker = interfaceModel.getExceptionMaker();
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        if (!isEnabled(exceptionMaker) || !isValid(exceptionMaker)) {
+            return codes;
+        }
+        String[] exceptionClassesName = exceptionMaker.classesName();
+        for (int index = 0; index < exceptionClassesName.length; index++) {
+            int code = exceptionMaker.codes().length > 0
+                    ? exceptionMaker.codes()[index]
+                    : derive(interfaceModel.getPackageName() + "." + exceptionClassesName[index]);
+            codes.put(exceptionClassesName[index], code);
+        }
+        return codes;
+    }
+
+    private static int derive(String qualifiedName) {
+        return 100_000 + Math.floorMod(qualifiedName.hashCode(), 900_000);
+    }
+}
@@ -2,34 +2,84 @@ package com.orbis.exception;
 
 import com.google.auto.service.AutoService;
 import com.orbis.exception.annotations.ExceptionMaker;
-import com.orbis.exception.info.PROJECT;
+import com.orbis.exception.annotations.ExceptionRunner;
+import com.orbis.type.InterfaceModelException;
+import com.orbis.type.StackTracePolicyException;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
-import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @AutoService(Processor.class)
 @SupportedAnnotationTypes("com.orbis.exception.annotations.ExceptionMaker")
 @SupportedSourceVersion(SourceVersion.RELEASE_23)
+@SupportedOptions({GenerationDate.REPRODUCIBLE_OPTION, ProcessorProfile.VERBOSITY_OPTION, ProcessorProfile.PROFILE_OPTION})
 public class ExceptionMakerProcessor extends AbstractProcessor {
 
+    /**
+     * Verbosity and profiling of the processor, see {@link ProcessorProfile}.
+     */
+    private ProcessorProfile profile;
+
+    /**
+     * Buffer reused for all the generated files, see {@link SourceEmitter}.
+     */
+    private SourceEmitter emitter;
+
+    /**
+     * Parameter names that cannot become typed fields: names of the generated fields, of the parameters
+     * of the generated methods reading the fields, or names whose accessor would override a getter of {@link Throwable}.
+     */
+    private static final Set<String> RESERVED_TYPED_FIELD_NAMES = Set.of(
+            "param", "typedConstructor", "message", "localizedMessage", "cause", "stackTrace", "suppressed", "out", "buffer");
+
+    /**
+     * Parameters of the public varargs constructor of the exceptions with custom parameter order.
+     */
+    private static final String VARARGS_CONSTRUCTOR_PARAMETERS = "java.lang.Object... param";
+
+    /**
+     * Parameters of the private constructor of the exceptions with custom parameter order,
+     * used by the {@code immutable} and {@code wrap} factories.
+     */
+    private static final String FACTORY_CONSTRUCTOR_PARAMETERS = "java.lang.Object[] param, java.lang.Throwable cause, boolean writableStackTrace";
+
+    /**
+     * Erasures of the constructors generated in every exception with custom parameter order:
+     * a typed constructor with one of them would clash, see {@link #getTypedConstructors}.
+     */
+    private static final Set<List<String>> RESERVED_ERASURES = Set.of(
+            erasureOf(VARARGS_CONSTRUCTOR_PARAMETERS), erasureOf(FACTORY_CONSTRUCTOR_PARAMETERS));
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        profile = ProcessorProfile.of(processingEnv, getClass());
+        emitter = new SourceEmitter(processingEnv, profile);
+    }
+
 
     /**
-     * Processes all elements annotated with {@link ExceptionMaker}.
+     * Processes all elements annotated with {@link ExceptionMaker}, taken from the
+     * {@link RoundModel} shared with {@link ExceptionRunnerProcessor}.
      *
      * @param annotations the set of annotation types requested to be processed
      * @param roundEnv    environment for information about the current and prior round
-     * @return {@code true} if the annotations are claimed by this processor
+     * @return {@code false}, so that {@link ExceptionRegistryProcessor} also receives the annotations
      */
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
@@ -38,35 +88,82 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
         String[] exceptionClassesName;
         boolean isEnableCustomParameterOrder;
         String packageName;
-        Set<? extends Element> annotatedElementsWithThrowRuntimeException = roundEnv.getElementsAnnotatedWith(ExceptionMaker.class);
+        Map<String, Integer> errorCodes;
+        String sealedBaseName;
+        Map<String, List<List<? extends VariableElement>>> typedConstructors;
+        boolean binaryCodec;
+
+        long roundStart = profile.startRound();
+        long collectionStart = profile.start();
+        List<InterfaceModelException> interfaceModels = RoundModel.of(roundEnv, processingEnv).getInterfaces();
+        profile.stop(ProcessorProfile.Phase.COLLECTION, collectionStart);
 
-        for (Element element : annotatedElementsWithThrowRuntimeException) {
+        for (InterfaceModelException interfaceModel : interfaceModels) {
 
-            if (element.getKind() != ElementKind.INTERFACE)
+            exceptionMaker = interfaceModel.getExceptionMaker();
+            if (exceptionMaker == null)
                 continue;
+            profile.countElements(1, 0);
             // Package where user created the interface with the annotation
-            packagePlusInterfaceName = (TypeElement) element;
-            exceptionMaker = packagePlusInterfaceName.getAnnotation(ExceptionMaker.class);
-            packageName = processingEnv.getElementUtils()
-                    .getPackageOf(packagePlusInterfaceName)
-                    .getQualifiedName()
-                    .toString();
+            packagePlusInterfaceName = interfaceModel.getInterfaceElement();
+            packageName = interfaceModel.getPackageName();
 
             exceptionClassesName = exceptionMaker.classesName();
             isEnableCustomParameterOrder = exceptionMaker.enableCustomParameterOrder();
-            processingEnv.getMessager()
-                    .printMessage(Diagnostic.Kind.NOTE, "Making Exceptions from: " + packageName + "." + exceptionClassesName);
+            profile.note("Making Exceptions from: " + packageName + "." + exceptionClassesName);
 
-            processingEnv.getMessager()
-                    .printMessage(Diagnostic.Kind.NOTE, "Annotations taken: " + packagePlusInterfaceName + " the row= ExceptionMaker:" + exceptionMaker);
+            profile.note("Annotations taken: " + packagePlusInterfaceName + " the row= ExceptionMaker:" + exceptionMaker);
+
+            checkStacklessClassesName(exceptionMaker, packagePlusInterfaceName);
+            checkStackTraceSampling(exceptionMaker, packagePlusInterfaceName);
+            if (isEnableCustomParameterOrder && exceptionMaker.lazyMessageFormatting()) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "lazyMessageFormatting is ignored with enableCustomParameterOrder: the constructor has no message", packagePlusInterfaceName);
+            }
+            if (!ErrorCodes.isValid(exceptionMaker)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "codes must declare one code for each class of classesName", packagePlusInterfaceName);
+            }
+            errorCodes = ErrorCodes.assign(interfaceModel);
+            sealedBaseName = getSealedBaseName(exceptionMaker, packagePlusInterfaceName);
+            if (sealedBaseName != null) {
+                writeSealedBase(packageName, sealedBaseName, exceptionClassesName, !errorCodes.isEmpty(), packagePlusInterfaceName);
+            }
+
+            typedConstructors = new LinkedHashMap<>();
+            if (isEnableCustomParameterOrder) {
+                for (String exceptionClassName : exceptionClassesName) {
+                    typedConstructors.put(exceptionClassName, getTypedConstructors(interfaceModel, exceptionClassName));
+                }
+            }
+            binaryCodec = exceptionMaker.binaryCodec() && isValidBinaryCodec(interfaceModel, typedConstructors);
 
             if (isEnableCustomParameterOrder) {
-                writeWithCustomParameterOrder(exceptionClassesName, packageName);
+                writeWithCustomParameterOrder(exceptionClassesName, packageName, exceptionMaker, interfaceModel, errorCodes, sealedBaseName,
+                        typedConstructors, binaryCodec);
             } else {
-                writeWithoutCustomParameterOrder(exceptionClassesName, packageName);
+                writeWithoutCustomParameterOrder(exceptionClassesName, packageName, exceptionMaker, packagePlusInterfaceName, errorCodes, sealedBaseName,
+                        binaryCodec);
+            }
+            if (binaryCodec) {
+                writeBinaryCodec(interfaceModel, sealedBaseName);
+            }
+            List<String> otherClassesName = new ArrayList<>();
+            if (sealedBaseName != null) {
+                otherClassesName.add(packageName + "." + sealedBaseName);
             }
+            if (binaryCodec) {
+                otherClassesName.add(packageName + "." + interfaceModel.getInterfaceName() + "Codec");
+            }
+            NativeImageMetadata.writeExceptions(processingEnv, emitter, packagePlusInterfaceName, Arrays.stream(exceptionClassesName)
+                    .map(exceptionClassName -> interfaceModel.getPackageName() + "." + exceptionClassName)
+                    .toList(), otherClassesName);
         }
-        return true;
+        profile.endRound(roundStart);
+        if (roundEnv.processingOver()) {
+            profile.finish();
+        }
+        return false;
     }
 
     /**
@@ -75,14 +172,24 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
      *
      * @param exceptionClassesName array of exception class names to generate
      * @param packageName          name of the package where the classes will be created
+     * @param exceptionMaker       the annotation placed on the interface
+     * @param interfaceModel       the annotated interface, the only element the generated classes depend on
+     * @param errorCodes           the error code of each exception, empty if the exceptions have no code
+     * @param sealedBaseName       the name of the sealed base class, {@code null} if the exceptions have no base
+     * @param typedConstructors    the parameters of the typed constructors of each exception
+     * @param binaryCodec          true if the classes must be encodable by the binary codec of the interface
      */
-    private void writeWithCustomParameterOrder(String[] exceptionClassesName, String packageName) {
+    private void writeWithCustomParameterOrder(String[] exceptionClassesName, String packageName, ExceptionMaker exceptionMaker,
+                                               InterfaceModelException interfaceModel, Map<String, Integer> errorCodes, String sealedBaseName,
+                                               Map<String, List<List<? extends VariableElement>>> typedConstructors, boolean binaryCodec) {
         try {
             JavaFileObject javaFileObject;
 
             for (String exceptionClassName : exceptionClassesName) {
-                javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + exceptionClassName);
-                writeExceptionsFileWithCustomParameterOrder(javaFileObject, packageName, exceptionClassName);
+                javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + exceptionClassName, interfaceModel.getInterfaceElement());
+                writeExceptionsFileWithCustomParameterOrder(javaFileObject, packageName, exceptionClassName,
+                        getStackTracePolicy(exceptionMaker, exceptionClassName),
+                        typedConstructors.get(exceptionClassName), errorCodes.get(exceptionClassName), sealedBaseName, binaryCodec);
             }
 
         } catch (Exception e) {
@@ -93,28 +200,110 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
     /**
      * Writes a Java source file for a custom exception class, applying a specific parameter order.
      * The generated class includes a varargs constructor and stores parameters in a single field.
+     * A package-private {@code immutable} factory creates the stackless instances shared by
+     * the generated {@code *Impl} methods, and a public {@code wrap} factory translates a cause
+     * without capturing a second stack trace.
+     * <p>
+     * For each signature of the {@link ExceptionRunner} methods of the interface throwing the exception, the class
+     * also gets a typed constructor, with a typed field and accessor for each parameter. Primitives
+     * stay unboxed and no array is created, so {@code getParam()} boxes the values only when called.
+     * </p>
      *
      * @param javaFileObject     the file object representing the source file to be written
      * @param packageName        the package where the exception class will be placed
      * @param exceptionClassName the name of the exception class to generate
+     * @param stackTracePolicy   how the exception captures its stack trace
+     * @param typedConstructors  the parameters of each typed constructor to generate
+     * @param errorCode          the error code of the exception, {@code null} if it has no code
+     * @param sealedBaseName     the name of the sealed base class, {@code null} if the exception has no base
+     * @param binaryCodec        true if the class must be encodable by the binary codec of the interface
      */
-    private void writeExceptionsFileWithCustomParameterOrder(JavaFileObject javaFileObject, String packageName, String exceptionClassName) {
-        try (Writer writer = javaFileObject.openWriter()) {
+    private void writeExceptionsFileWithCustomParameterOrder(JavaFileObject javaFileObject, String packageName, String exceptionClassName,
+                                                             StackTracePolicyException stackTracePolicy,
+                                                             List<List<? extends VariableElement>> typedConstructors, Integer errorCode,
+                                                             String sealedBaseName, boolean binaryCodec) {
+        Map<String, String> typedFields = getTypedFields(typedConstructors);
+        try (Writer writer = emitter.open(javaFileObject)) {
             writer.write("package " + packageName + ";\n\n");
             writer.write("import com.orbis.exception.annotations.Generated;");
             writeGeneratedAnnotation(writer);
-            writer.write("public class " + exceptionClassName + " extends RuntimeException {\n");
+            writer.write(classDeclaration(exceptionClassName, sealedBaseName, errorCode));
+            writeErrorCodeConstant(writer, errorCode);
+            writeStackTraceFields(writer, stackTracePolicy);
 
             writer.write("    private final Object param;\n\n");
+            if (!typedConstructors.isEmpty()) {
+                writer.write("    private final int typedConstructor;\n");
+                for (Map.Entry<String, String> typedField : typedFields.entrySet()) {
+                    writer.write("    private final " + typedField.getValue() + " " + typedField.getKey() + ";\n");
+                }
+                writer.write("\n");
+            }
+
+            writer.write("\tpublic " + exceptionClassName + "(" + VARARGS_CONSTRUCTOR_PARAMETERS + ") {\n");
+            if (stackTracePolicy.isStackless() || stackTracePolicy.isSampled()) {
+                writer.write(superConstructorCall("null", stackTracePolicy));
+            }
+            writer.write("\t\tthis.param = param;\n");
+            writeTypedFieldsAssignment(writer, typedConstructors, typedFields, List.of(), -1);
+            writer.write("\t}\n\n");
 
-            writer.write("\tpublic " + exceptionClassName + "(Object... param) {\n");
+            for (int index = 0; index < typedConstructors.size(); index++) {
+                List<? extends VariableElement> parameters = typedConstructors.get(index);
+                writer.write("\tpublic " + exceptionClassName + "(" + parameters.stream()
+                        .map(parameter -> parameter.asType() + " " + parameter.getSimpleName())
+                        .collect(Collectors.joining(", ")) + ") {\n");
+                if (stackTracePolicy.isStackless() || stackTracePolicy.isSampled()) {
+                    writer.write(superConstructorCall("null", stackTracePolicy));
+                }
+                writer.write("\t\tthis.param = null;\n");
+                writeTypedFieldsAssignment(writer, typedConstructors, typedFields, parameters, index);
+                writer.write("\t}\n\n");
+            }
+
+            writer.write("\tprivate " + exceptionClassName + "(" + FACTORY_CONSTRUCTOR_PARAMETERS + ") {\n");
+            writer.write("\t\tsuper(null, cause, false, writableStackTrace);\n");
+            writeCauseAssignment(writer, stackTracePolicy);
             writer.write("\t\tthis.param = param;\n");
+            writeTypedFieldsAssignment(writer, typedConstructors, typedFields, List.of(), -1);
+            writer.write("\t}\n\n");
+
+            writer.write("\tstatic " + exceptionClassName + " immutable(Object... param) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(param, null, false);\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tpublic static " + exceptionClassName + " wrap(Throwable cause, Object... param) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(param, cause, false);\n");
             writer.write("\t}\n");
 
             writer.write("\tpublic Object getParam(){\n");
-            writer.write("\t\treturn param;\n");
+            if (!typedConstructors.isEmpty()) {
+                writer.write("\t\tswitch (typedConstructor) {\n");
+                for (int index = 0; index < typedConstructors.size(); index++) {
+                    writer.write("\t\t\tcase " + index + ": return new Object[]{" + typedConstructors.get(index).stream()
+                            .map(parameter -> parameter.getSimpleName().toString())
+                            .collect(Collectors.joining(", ")) + "};\n");
+                }
+                writer.write("\t\t\tdefault: return param;\n");
+                writer.write("\t\t}\n");
+            } else {
+                writer.write("\t\treturn param;\n");
+            }
             writer.write("\t}\n");
 
+            for (Map.Entry<String, String> typedField : typedFields.entrySet()) {
+                writer.write("\tpublic " + typedField.getValue() + " get" + Character.toUpperCase(typedField.getKey().charAt(0))
+                        + typedField.getKey().substring(1) + "(){\n");
+                writer.write("\t\treturn " + typedField.getKey() + ";\n");
+                writer.write("\t}\n");
+            }
+            writeErrorCodeAccessor(writer, errorCode);
+            writeStackTraceMethods(writer, stackTracePolicy);
+            writeProblemDetailsMethods(writer, packageName, exceptionClassName, errorCode, "param", typedConstructors);
+            if (binaryCodec) {
+                writeCustomParameterOrderCodecMethods(writer, exceptionClassName, typedConstructors);
+            }
+
             writer.write("}\n");
         } catch (IOException exception) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the exception " + exceptionClassName);
@@ -126,14 +315,23 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
      *
      * @param exceptionClassesName array of exception class names to generate
      * @param packageName          name of the package where the classes will be created
+     * @param exceptionMaker       the annotation placed on the interface
+     * @param originatingElement   the annotated interface, the only element the generated classes depend on
+     * @param errorCodes           the error code of each exception, empty if the exceptions have no code
+     * @param sealedBaseName       the name of the sealed base class, {@code null} if the exceptions have no base
+     * @param binaryCodec          true if the classes must be encodable by the binary codec of the interface
      */
-    private void writeWithoutCustomParameterOrder(String[] exceptionClassesName, String packageName) {
+    private void writeWithoutCustomParameterOrder(String[] exceptionClassesName, String packageName, ExceptionMaker exceptionMaker,
+                                                  TypeElement originatingElement, Map<String, Integer> errorCodes, String sealedBaseName,
+                                                  boolean binaryCodec) {
         try {
             JavaFileObject javaFileObject;
 
             for (String exceptionClassName : exceptionClassesName) {
-                javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + exceptionClassName);
-                writeExceptionsFileWithoutCustomParameterOrder(javaFileObject, packageName, exceptionClassName);
+                javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + exceptionClassName, originatingElement);
+                writeExceptionsFileWithoutCustomParameterOrder(javaFileObject, packageName, exceptionClassName,
+                        getStackTracePolicy(exceptionMaker, exceptionClassName),
+                        exceptionMaker.lazyMessageFormatting(), errorCodes.get(exceptionClassName), sealedBaseName, binaryCodec);
             }
 
         } catch (Exception e) {
@@ -142,34 +340,90 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
     }
 
     /**
-     * Write the exceptions class, without custom parameter order
+     * Write the exceptions class, without custom parameter order.
+     * The package-private {@code immutable} factories create the stackless instances shared by
+     * the generated {@code *Impl} methods.
+     * <p>
+     * The public {@code wrap} factories translate a cause into the exception without capturing
+     * a second stack trace: the instance has no stack trace and no suppression, the trace of the
+     * cause is the one printed after {@code Caused by:}. A {@code (String, Throwable)} constructor
+     * is not generated, it would make {@code new Exception(message, null)} ambiguous with the
+     * {@code (String, Object[])} one.
+     * </p>
      *
      * @param javaFileObject     java file to generate
      * @param packageName        the package where user used the annotations
      * @param exceptionClassName exception custom name
+     * @param stackTracePolicy   how the exception captures its stack trace
+     * @param lazyMessage        true if the message is a template rendered on the first read
+     * @param errorCode          the error code of the exception, {@code null} if it has no code
+     * @param sealedBaseName     the name of the sealed base class, {@code null} if the exception has no base
+     * @param binaryCodec        true if the class must be encodable by the binary codec of the interface
      */
-    private void writeExceptionsFileWithoutCustomParameterOrder(JavaFileObject javaFileObject, String packageName, String exceptionClassName) {
+    private void writeExceptionsFileWithoutCustomParameterOrder(JavaFileObject javaFileObject, String packageName, String exceptionClassName,
+                                                                StackTracePolicyException stackTracePolicy, boolean lazyMessage, Integer errorCode,
+                                                                String sealedBaseName, boolean binaryCodec) {
 
-        try (Writer writer = javaFileObject.openWriter()) {
+        try (Writer writer = emitter.open(javaFileObject)) {
             writer.write("package " + packageName + ";\n\n");
             writer.write("import com.orbis.exception.annotations.Generated;");
             writeGeneratedAnnotation(writer);
-            writer.write("public class " + exceptionClassName + " extends RuntimeException {\n");
+            writer.write(classDeclaration(exceptionClassName, sealedBaseName, errorCode));
+            writeErrorCodeConstant(writer, errorCode);
+            writeStackTraceFields(writer, stackTracePolicy);
             writer.write("    private final Object[] params;\n\n");
+            if (lazyMessage) {
+                writeLazyMessageFields(writer);
+            }
 
             writer.write("\tpublic " + exceptionClassName + " (String message) {\n");
-            writer.write("\t\tsuper(message);\n");
+            writer.write(superConstructorCall("message", stackTracePolicy));
             writer.write("\t\tthis.params = null;\n");
             writer.write(" \t}\n\n");
 
             writer.write("\tpublic " + exceptionClassName + "(String message, Object[] params) {\n");
-            writer.write("\t\tsuper(message);\n");
+            writer.write(superConstructorCall("message", stackTracePolicy));
+            writer.write("\t\tthis.params = params;\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tprivate " + exceptionClassName + "(String message, Throwable cause, Object[] params, boolean writableStackTrace) {\n");
+            writer.write("\t\tsuper(message, cause, false, writableStackTrace);\n");
+            writeCauseAssignment(writer, stackTracePolicy);
             writer.write("\t\tthis.params = params;\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tstatic " + exceptionClassName + " immutable(String message) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(message, null, null, false);\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tstatic " + exceptionClassName + " immutable(String message, Object[] params) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(message, null, params, false);\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tpublic static " + exceptionClassName + " wrap(Throwable cause) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(cause == null ? null : cause.toString(), cause, null, false);\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tpublic static " + exceptionClassName + " wrap(String message, Throwable cause) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(message, cause, null, false);\n");
+            writer.write("\t}\n\n");
+
+            writer.write("\tpublic static " + exceptionClassName + " wrap(String message, Object[] params, Throwable cause) {\n");
+            writer.write("\t\treturn new " + exceptionClassName + "(message, cause, params, false);\n");
             writer.write("\t}\n");
 
             writer.write("\tpublic Object[] getParams(){\n");
             writer.write("\t\treturn params;\n");
             writer.write("\t}\n");
+            if (lazyMessage) {
+                writeLazyMessageMethods(writer);
+            }
+            writeErrorCodeAccessor(writer, errorCode);
+            writeStackTraceMethods(writer, stackTracePolicy);
+            writeProblemDetailsMethods(writer, packageName, exceptionClassName, errorCode, "params", List.of());
+            if (binaryCodec) {
+                writeCodecMethods(writer, exceptionClassName);
+            }
 
             writer.write("}\n");
         } catch (IOException exception) {
@@ -178,18 +432,895 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
 
     }
 
+    /**
+     * Writes the assignment of the typed fields in a constructor: the fields of the
+     * constructor parameters take their values, the others take the default value of their type.
+     *
+     * <p>The index of the constructor is assigned whenever the class has typed constructors, also when
+     * they declare no parameters and so no typed field.</p>
+     *
+     * @param writer            the writer of the exception class
+     * @param typedConstructors the parameters of each typed constructor of the class
+     * @param typedFields       the typed fields of the class, name and type
+     * @param parameters        the parameters of the constructor
+     * @param typedConstructor  the index of the typed constructor, {@code -1} for the varargs ones
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeTypedFieldsAssignment(Writer writer, List<List<? extends VariableElement>> typedConstructors, Map<String, String> typedFields,
+                                            List<? extends VariableElement> parameters, int typedConstructor) throws IOException {
+        if (typedConstructors.isEmpty()) {
+            return;
+        }
+        writer.write("\t\tthis.typedConstructor = " + typedConstructor + ";\n");
+        Set<String> parameterNames = parameters.stream()
+                .map(parameter -> parameter.getSimpleName().toString())
+                .collect(Collectors.toSet());
+        for (Map.Entry<String, String> typedField : typedFields.entrySet()) {
+            String value = parameterNames.contains(typedField.getKey())
+                    ? typedField.getKey()
+                    : getDefaultValue(typedField.getValue());
+            writer.write("\t\tthis." + typedField.getKey() + " = " + value + ";\n");
+        }
+    }
+
+    /**
+     * Returns the default value of a type, as a Java literal with no cast, so no redundant cast is
+     * reported: the value is assigned to a field, that narrows {@code 0} to {@code byte} and {@code short}.
+     *
+     * @param type the type of the field
+     * @return {@code false} for booleans, the zero literal of the other primitives, {@code null} otherwise
+     */
+    private String getDefaultValue(String type) {
+        return switch (type) {
+            case "boolean" -> "false";
+            case "byte", "short", "int" -> "0";
+            case "char" -> "'\\0'";
+            case "long" -> "0L";
+            case "float" -> "0.0f";
+            case "double" -> "0.0d";
+            default -> "null";
+        };
+    }
+
+    /**
+     * Collects the distinct signatures of the {@link ExceptionRunner} methods throwing the exception,
+     * each one becoming a typed constructor.
+     *
+     * <p>No typed constructor is generated, and a warning is reported, when the signatures cannot be
+     * represented by typed fields: two parameters with the same name and different types, two signatures
+     * with the same erasure, a parameter name already used by the class or whose accessor would override
+     * a {@link Throwable} getter, type variables, or a signature clashing with the constructors generated in every
+     * exception, see {@link #RESERVED_ERASURES}.</p>
+     *
+     * @param interfaceModel     the annotated interface
+     * @param exceptionClassName the exception class to generate
+     * @return the parameters of each typed constructor, empty if none must be generated
+     */
+    private List<List<? extends VariableElement>> getTypedConstructors(InterfaceModelException interfaceModel, String exceptionClassName) {
+        List<ExecutableElement> runnerMethods = interfaceModel.getRunnerMethodsByExceptionName().getOrDefault(exceptionClassName, List.of());
+        Map<List<String>, List<? extends VariableElement>> constructorsByErasure = new LinkedHashMap<>();
+        Map<String, String> fieldTypes = new HashMap<>();
+
+        for (ExecutableElement runnerMethod : runnerMethods) {
+            List<? extends VariableElement> parameters = runnerMethod.getParameters();
+            List<String> erasure = new ArrayList<>();
+            for (VariableElement parameter : parameters) {
+                String parameterName = parameter.getSimpleName().toString();
+                String parameterType = parameter.asType().toString();
+                String previousType = fieldTypes.putIfAbsent(parameterName, parameterType);
+                if (RESERVED_TYPED_FIELD_NAMES.contains(parameterName) || containsTypeVariable(parameter.asType())
+                        || (previousType != null && !previousType.equals(parameterType))) {
+                    return reportUntypedConstructors(runnerMethod, exceptionClassName);
+                }
+                erasure.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+            }
+
+            List<? extends VariableElement> sameErasure = constructorsByErasure.putIfAbsent(erasure, parameters);
+            if (RESERVED_ERASURES.contains(erasure) || (sameErasure != null && !sameSignature(sameErasure, parameters))) {
+                return reportUntypedConstructors(runnerMethod, exceptionClassName);
+            }
+        }
+        return new ArrayList<>(constructorsByErasure.values());
+    }
+
+    /**
+     * Returns the erasure of the parameters of a generated constructor.
+     *
+     * @param parameters the parameters as written in the source, with qualified and not generic types
+     * @return the type of each parameter, a varargs as an array
+     */
+    private static List<String> erasureOf(String parameters) {
+        return Arrays.stream(parameters.split(", "))
+                .map(parameter -> parameter.substring(0, parameter.lastIndexOf(' ')).replace("...", "[]"))
+                .toList();
+    }
+
+    private List<List<? extends VariableElement>> reportUntypedConstructors(ExecutableElement runnerMethod, String exceptionClassName) {
+        processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.WARNING, "Typed constructors of " + exceptionClassName
+                        + " not generated: the parameters of this method clash with the other signatures or with the generated constructors", runnerMethod);
+        return List.of();
+    }
+
+    private boolean sameSignature(List<? extends VariableElement> parameters, List<? extends VariableElement> otherParameters) {
+        for (int index = 0; index < parameters.size(); index++) {
+            VariableElement parameter = parameters.get(index);
+            VariableElement otherParameter = otherParameters.get(index);
+            if (!parameter.getSimpleName().contentEquals(otherParameter.getSimpleName())
+                    || !parameter.asType().toString().equals(otherParameter.asType().toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a type is, or is built with, a type variable, that cannot be used as field type.
+     *
+     * @param type the type to check
+     * @return true if the type contains a type variable
+     */
+    private boolean containsTypeVariable(TypeMirror type) {
+        return switch (type.getKind()) {
+            case TYPEVAR -> true;
+            case ARRAY -> containsTypeVariable(((ArrayType) type).getComponentType());
+            case DECLARED -> ((DeclaredType) type).getTypeArguments().stream().anyMatch(this::containsTypeVariable);
+            case WILDCARD -> {
+                WildcardType wildcardType = (WildcardType) type;
+                yield (wildcardType.getExtendsBound() != null && containsTypeVariable(wildcardType.getExtendsBound()))
+                        || (wildcardType.getSuperBound() != null && containsTypeVariable(wildcardType.getSuperBound()));
+            }
+            default -> false;
+        };
+    }
+
+    /**
+     * Collects the typed fields of all the typed constructors, in order of first appearance.
+     *
+     * @param typedConstructors the parameters of each typed constructor
+     * @return the name and type of each field
+     */
+    private Map<String, String> getTypedFields(List<List<? extends VariableElement>> typedConstructors) {
+        Map<String, String> typedFields = new LinkedHashMap<>();
+        for (List<? extends VariableElement> parameters : typedConstructors) {
+            for (VariableElement parameter : parameters) {
+                typedFields.putIfAbsent(parameter.getSimpleName().toString(), parameter.asType().toString());
+            }
+        }
+        return typedFields;
+    }
+
+    /**
+     * Writes the fields used to render the message lazily: the cache of the parsed
+     * templates, shared by all the instances of the class, and the rendered message.
+     *
+     * @param writer the writer of the exception class
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeLazyMessageFields(Writer writer) throws IOException {
+        writer.write("    private static final com.orbis.exception.runtime.BoundedCache<String, com.orbis.exception.runtime.MessageTemplate> TEMPLATES =\n");
+        writer.write("            new com.orbis.exception.runtime.BoundedCache<>(com.orbis.exception.runtime.MessageTemplate::parse);\n\n");
+        writer.write("    private transient String renderedMessage;\n\n");
+    }
+
+    /**
+     * Writes {@code getMessage()}, rendering the template with the params on the first call
+     * and returning the same string on the next ones, and {@code getMessageTemplate()}.
+     *
+     * @param writer the writer of the exception class
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeLazyMessageMethods(Writer writer) throws IOException {
+        writer.write("\t@Override\n");
+        writer.write("\tpublic String getMessage(){\n");
+        writer.write("\t\tString message = renderedMessage;\n");
+        writer.write("\t\tif (message == null) {\n");
+        writer.write("\t\t\tString template = super.getMessage();\n");
+        writer.write("\t\t\tif (template == null) {\n");
+        writer.write("\t\t\t\treturn null;\n");
+        writer.write("\t\t\t}\n");
+        writer.write("\t\t\tmessage = TEMPLATES.get(template).render(params);\n");
+        writer.write("\t\t\trenderedMessage = message;\n");
+        writer.write("\t\t}\n");
+        writer.write("\t\treturn message;\n");
+        writer.write("\t}\n");
+
+        writer.write("\tpublic String getMessageTemplate(){\n");
+        writer.write("\t\treturn super.getMessage();\n");
+        writer.write("\t}\n");
+    }
+
+    /**
+     * Writes the {@code writeTo} methods rendering the exception as RFC 7807 problem details, to an
+     * {@code Appendable} and, as UTF-8, to a {@code ByteBuffer}:
+     * <pre>
+     * {"type":"demo.UserNotFoundException","title":"UserNotFoundException","code":1001,"detail":"User not found","params":["42"]}
+     * </pre>
+     *
+     * <p>The constant beginning, up to {@code detail}, is built once per class and kept both as text and
+     * as UTF-8 bytes. The values are written by {@code JsonWriter}, with no reflection. The typed params
+     * of a typed constructor are written from the typed fields, so primitives are not boxed.</p>
+     *
+     * @param writer             the writer of the exception class
+     * @param packageName        the package of the exception class
+     * @param exceptionClassName the name of the exception class
+     * @param errorCode          the error code of the exception, {@code null} if it has no code
+     * @param paramsField        the field holding the params
+     * @param typedConstructors  the parameters of each typed constructor
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeProblemDetailsMethods(Writer writer, String packageName, String exceptionClassName, Integer errorCode,
+                                            String paramsField, List<List<? extends VariableElement>> typedConstructors) throws IOException {
+        String json = "com.orbis.exception.runtime.JsonWriter";
+        writer.write("\tprivate static final String JSON_PREFIX = " + json + ".problemPrefix(\"" + packageName + "." + exceptionClassName
+                + "\", \"" + exceptionClassName + "\", " + errorCode + ");\n");
+        writer.write("\tprivate static final byte[] JSON_PREFIX_UTF8 = JSON_PREFIX.getBytes(java.nio.charset.StandardCharsets.UTF_8);\n");
+
+        writer.write("\tpublic void writeTo(Appendable out) throws java.io.IOException {\n");
+        writer.write("\t\tout.append(JSON_PREFIX);\n");
+        writer.write("\t\t" + json + ".appendString(out, getMessage());\n");
+        writer.write("\t\tout.append(" + json + ".PARAMS_MEMBER);\n");
+        writeProblemDetailsParams(writer, paramsField, typedConstructors, json + ".appendValue(out, ", "out.append(");
+        writer.write("\t\tout.append('}');\n");
+        writer.write("\t}\n");
+
+        writer.write("\tpublic void writeTo(java.nio.ByteBuffer buffer) {\n");
+        writer.write("\t\tbuffer.put(JSON_PREFIX_UTF8);\n");
+        writer.write("\t\t" + json + ".putString(buffer, getMessage());\n");
+        writer.write("\t\t" + json + ".putParamsMember(buffer);\n");
+        writeProblemDetailsParams(writer, paramsField, typedConstructors, json + ".putValue(buffer, ", "buffer.put((byte) ");
+        writer.write("\t\tbuffer.put((byte) '}');\n");
+        writer.write("\t}\n");
+    }
+
+    /**
+     * Writes the statements rendering the params: the typed fields of the typed constructor used, as an
+     * array, or the params field.
+     *
+     * @param writer            the writer of the exception class
+     * @param paramsField       the field holding the params
+     * @param typedConstructors the parameters of each typed constructor
+     * @param writeValue        the beginning of the invocation writing a value
+     * @param writeCharacter    the beginning of the invocation writing a character
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeProblemDetailsParams(Writer writer, String paramsField, List<List<? extends VariableElement>> typedConstructors,
+                                           String writeValue, String writeCharacter) throws IOException {
+        if (typedConstructors.isEmpty()) {
+            writer.write("\t\t" + writeValue + "this." + paramsField + ");\n");
+            return;
+        }
+        writer.write("\t\tswitch (this.typedConstructor) {\n");
+        for (int index = 0; index < typedConstructors.size(); index++) {
+            writer.write("\t\t\tcase " + index + ":\n");
+            writer.write("\t\t\t\t" + writeCharacter + "'[');\n");
+            List<? extends VariableElement> parameters = typedConstructors.get(index);
+            for (int parameter = 0; parameter < parameters.size(); parameter++) {
+                if (parameter > 0) {
+                    writer.write("\t\t\t\t" + writeCharacter + "',');\n");
+                }
+                writer.write("\t\t\t\t" + writeValue + "this." + parameters.get(parameter).getSimpleName() + ");\n");
+            }
+            writer.write("\t\t\t\t" + writeCharacter + "']');\n");
+            writer.write("\t\t\t\tbreak;\n");
+        }
+        writer.write("\t\t\tdefault:\n");
+        writer.write("\t\t\t\t" + writeValue + "this." + paramsField + ");\n");
+        writer.write("\t\t}\n");
+    }
+
+    /**
+     * Writes the methods used by the binary codec of the interface, for an exception without custom parameter order:
+     * the body is the message, the template with {@link ExceptionMaker#lazyMessageFormatting()}, and the params.
+     *
+     * @param writer             the writer of the exception class
+     * @param exceptionClassName the name of the exception class
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeCodecMethods(Writer writer, String exceptionClassName) throws IOException {
+        writer.write("\tvoid encodeBody(java.nio.ByteBuffer buffer){\n");
+        writer.write("\t\tcom.orbis.exception.runtime.BinaryCodec.writeString(buffer, super.getMessage());\n");
+        writer.write("\t\tcom.orbis.exception.runtime.BinaryCodec.writeValue(buffer, this.params);\n");
+        writer.write("\t}\n");
+        writer.write("\tstatic " + exceptionClassName + " decodeBody(java.nio.ByteBuffer buffer){\n");
+        writer.write("\t\tString message = com.orbis.exception.runtime.BinaryCodec.readString(buffer);\n");
+        writer.write("\t\treturn new " + exceptionClassName + "(message, (Object[]) com.orbis.exception.runtime.BinaryCodec.readValue(buffer));\n");
+        writer.write("\t}\n");
+    }
+
+    /**
+     * Writes the methods used by the binary codec of the interface, for an exception with custom parameter order:
+     * the body is the index of the constructor, {@code 0} for the {@code Object...} one, followed by its arguments.
+     * The decoding calls the same constructor, so the typed fields are restored.
+     *
+     * @param writer             the writer of the exception class
+     * @param exceptionClassName the name of the exception class
+     * @param typedConstructors  the parameters of each typed constructor
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeCustomParameterOrderCodecMethods(Writer writer, String exceptionClassName,
+                                                       List<List<? extends VariableElement>> typedConstructors) throws IOException {
+        String codec = "com.orbis.exception.runtime.BinaryCodec";
+        writer.write("\tvoid encodeBody(java.nio.ByteBuffer buffer){\n");
+        if (typedConstructors.isEmpty()) {
+            writer.write("\t\t" + codec + ".writeIndex(buffer, 0);\n");
+            writer.write("\t\t" + codec + ".writeValue(buffer, this.param);\n");
+        } else {
+            writer.write("\t\t" + codec + ".writeIndex(buffer, this.typedConstructor + 1);\n");
+            writer.write("\t\tswitch (this.typedConstructor) {\n");
+            for (int index = 0; index < typedConstructors.size(); index++) {
+                writer.write("\t\t\tcase " + index + ":\n");
+                for (VariableElement parameter : typedConstructors.get(index)) {
+                    writer.write("\t\t\t\t" + codec + ".writeValue(buffer, this." + parameter.getSimpleName() + ");\n");
+                }
+                writer.write("\t\t\t\tbreak;\n");
+            }
+            writer.write("\t\t\tdefault:\n");
+            writer.write("\t\t\t\t" + codec + ".writeValue(buffer, this.param);\n");
+            writer.write("\t\t}\n");
+        }
+        writer.write("\t}\n");
+
+        writer.write("\t@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        writer.write("\tstatic " + exceptionClassName + " decodeBody(java.nio.ByteBuffer buffer){\n");
+        writer.write("\t\tswitch (" + codec + ".readIndex(buffer)) {\n");
+        for (int index = 0; index < typedConstructors.size(); index++) {
+            writer.write("\t\t\tcase " + (index + 1) + ":\n");
+            writer.write("\t\t\t\treturn new " + exceptionClassName + "(" + typedConstructors.get(index).stream()
+                    .map(parameter -> castToParameterType(parameter.asType()) + " " + codec + ".readValue(buffer)")
+                    .collect(Collectors.joining(", ")) + ");\n");
+        }
+        writer.write("\t\t\tdefault:\n");
+        writer.write("\t\t\t\treturn new " + exceptionClassName + "((Object[]) " + codec + ".readValue(buffer));\n");
+        writer.write("\t\t}\n");
+        writer.write("\t}\n");
+    }
+
+    /**
+     * Returns the cast of a decoded value to the type of a constructor parameter: primitives are
+     * unboxed, so the decoding calls exactly the typed constructor, the other types are erased.
+     *
+     * @param type the type of the parameter
+     * @return the cast, e.g. {@code (int) (java.lang.Integer)}
+     */
+    private String castToParameterType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return "(" + type + ") (" + processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName() + ")";
+        }
+        return "(" + processingEnv.getTypeUtils().erasure(type) + ")";
+    }
+
+    /**
+     * Checks that the binary codec of an interface can be generated: its name must not be used by an
+     * exception, the type ids, the hash codes of the qualified names, must be distinct, and the parameters
+     * of the typed constructors must be decoded to their own type, see {@link #isBinaryCodecType(TypeMirror)}.
+     * Otherwise a compilation error is reported.
+     *
+     * @param interfaceModel    the annotated interface
+     * @param typedConstructors the parameters of the typed constructors of each exception
+     * @return true if the codec can be generated
+     */
+    private boolean isValidBinaryCodec(InterfaceModelException interfaceModel, Map<String, List<List<? extends VariableElement>>> typedConstructors) {
+        String codecName = interfaceModel.getInterfaceName() + "Codec";
+        String[] exceptionClassesName = interfaceModel.getExceptionMaker().classesName();
+        Set<Integer> typeIds = new HashSet<>();
+        for (String exceptionClassName : exceptionClassesName) {
+            if (exceptionClassName.equals(codecName)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "binaryCodec generates " + codecName + ", that is also declared in classesName", interfaceModel.getInterfaceElement());
+                return false;
+            }
+            if (!typeIds.add((interfaceModel.getPackageName() + "." + exceptionClassName).hashCode())) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "binaryCodec cannot distinguish " + exceptionClassName + " from the other exceptions: rename it", interfaceModel.getInterfaceElement());
+                return false;
+            }
+        }
+        boolean valid = true;
+        for (List<List<? extends VariableElement>> constructors : typedConstructors.values()) {
+            for (List<? extends VariableElement> parameters : constructors) {
+                for (VariableElement parameter : parameters) {
+                    if (!isBinaryCodecType(parameter.asType())) {
+                        processingEnv.getMessager()
+                                .printMessage(Diagnostic.Kind.ERROR, "binaryCodec cannot decode the parameter " + parameter.getSimpleName() + " of type " + parameter.asType()
+                                        + ": use the primitives, their wrappers, String, byte[], Object[], Object or List of them", parameter);
+                        valid = false;
+                    }
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Checks if a typed parameter is decoded by {@link com.orbis.exception.runtime.BinaryCodec} to a value of its
+     * own type: the primitives and their wrappers, {@code String}, {@code byte[]}, {@code Object[]}, {@code Object},
+     * and {@code List}, decoded as an {@code ArrayList}, of these types. Other arrays and collections, enums and the
+     * other classes would fail when encoded, or when the decoded value is cast to the parameter type.
+     *
+     * @param type the type of the parameter
+     * @return true if the type can be encoded and decoded
+     */
+    private boolean isBinaryCodecType(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE -> true;
+            case ARRAY -> {
+                String componentType = ((ArrayType) type).getComponentType().toString();
+                yield componentType.equals("byte") || componentType.equals("java.lang.Object");
+            }
+            case DECLARED -> switch (processingEnv.getTypeUtils().erasure(type).toString()) {
+                case "java.lang.Object", "java.lang.String", "java.lang.Boolean", "java.lang.Byte", "java.lang.Short", "java.lang.Character",
+                     "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double" -> true;
+                case "java.util.List" -> ((DeclaredType) type).getTypeArguments().stream().allMatch(this::isBinaryCodecType);
+                default -> false;
+            };
+            case WILDCARD -> ((WildcardType) type).getExtendsBound() == null || isBinaryCodecType(((WildcardType) type).getExtendsBound());
+            default -> false;
+        };
+    }
+
+    /**
+     * Writes the {@code <Interface>Codec} class of an interface, see {@link ExceptionMaker#binaryCodec()}.
+     *
+     * <p>The encoding writes the header, with the type id of the exception, then the body written by the
+     * exception itself. The decoding dispatches on the type id with a {@code switch}, so no class is looked
+     * up by name. With a sealed base, the codec takes and returns the base type.</p>
+     *
+     * @param interfaceModel the annotated interface, the only element the codec depends on
+     * @param sealedBaseName the name of the sealed base class, {@code null} if the exceptions have no base
+     */
+    private void writeBinaryCodec(InterfaceModelException interfaceModel, String sealedBaseName) {
+        String packageName = interfaceModel.getPackageName();
+        String interfaceName = interfaceModel.getInterfaceName();
+        String codecName = interfaceName + "Codec";
+        String baseType = sealedBaseName == null ? "RuntimeException" : sealedBaseName;
+        String codec = "com.orbis.exception.runtime.BinaryCodec";
+        String[] exceptionClassesName = interfaceModel.getExceptionMaker().classesName();
+        try {
+            JavaFileObject javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + codecName, interfaceModel.getInterfaceElement());
+            try (Writer writer = emitter.open(javaFileObject)) {
+                writer.write("package " + packageName + ";\n\n");
+                writer.write("import com.orbis.exception.annotations.Generated;");
+                writeGeneratedAnnotation(writer);
+                writer.write("public final class " + codecName + " {\n\n");
+                writer.write("\tprivate " + codecName + "() {\n");
+                writer.write("\t}\n\n");
+
+                writer.write("\tpublic static void encode(" + baseType + " exception, java.nio.ByteBuffer buffer) {\n");
+                for (String exceptionClassName : exceptionClassesName) {
+                    writer.write("\t\tif (exception instanceof " + exceptionClassName + " typed) {\n");
+                    writer.write("\t\t\t" + codec + ".writeHeader(buffer, " + (packageName + "." + exceptionClassName).hashCode() + ");\n");
+                    writer.write("\t\t\ttyped.encodeBody(buffer);\n");
+                    writer.write("\t\t\treturn;\n");
+                    writer.write("\t\t}\n");
+                }
+                writer.write("\t\tthrow new IllegalArgumentException(\"Not an exception of " + packageName + "." + interfaceName
+                        + ": \" + exception.getClass().getName());\n");
+                writer.write("\t}\n\n");
+
+                writer.write("\tpublic static byte[] encode(" + baseType + " exception) {\n");
+                writer.write("\t\treturn " + codec + ".toByteArray(buffer -> encode(exception, buffer));\n");
+                writer.write("\t}\n\n");
+
+                writer.write("\tpublic static " + baseType + " decode(java.nio.ByteBuffer buffer) {\n");
+                writer.write("\t\tint typeId = " + codec + ".readHeader(buffer);\n");
+                writer.write("\t\tswitch (typeId) {\n");
+                for (String exceptionClassName : exceptionClassesName) {
+                    writer.write("\t\t\tcase " + (packageName + "." + exceptionClassName).hashCode() + ":\n");
+                    writer.write("\t\t\t\treturn " + exceptionClassName + ".decodeBody(buffer);\n");
+                }
+                writer.write("\t\t\tdefault:\n");
+                writer.write("\t\t\t\tthrow new IllegalArgumentException(\"Unknown exception type \" + typeId);\n");
+                writer.write("\t\t}\n");
+                writer.write("\t}\n\n");
+
+                writer.write("\tpublic static " + baseType + " decode(byte[] bytes) {\n");
+                writer.write("\t\treturn decode(java.nio.ByteBuffer.wrap(bytes));\n");
+                writer.write("\t}\n");
+                writer.write("}\n");
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of " + codecName, interfaceModel.getInterfaceElement());
+        }
+    }
+
+    /**
+     * Returns the declaration of an exception class: a final subclass of the sealed base, if any,
+     * otherwise a subclass of {@code RuntimeException}.
+     *
+     * @param exceptionClassName the name of the exception class
+     * @param sealedBaseName     the name of the sealed base class, {@code null} if the exception has no base
+     * @param errorCode          the error code of the exception, {@code null} if it has no code
+     * @return the source line of the declaration
+     */
+    private String classDeclaration(String exceptionClassName, String sealedBaseName, Integer errorCode) {
+        if (sealedBaseName == null) {
+            return "public class " + exceptionClassName + " extends RuntimeException" + implementsClause(errorCode) + " {\n";
+        }
+        return "public final class " + exceptionClassName + " extends " + sealedBaseName + implementsClause(errorCode) + " {\n";
+    }
+
+    /**
+     * Writes the sealed base class of the exceptions of an interface, see {@link ExceptionMaker#sealedBaseName()}.
+     *
+     * <p>The base permits exactly the exceptions of the interface and declares a protected
+     * constructor for each constructor of {@code RuntimeException} used by them. With error codes,
+     * it also implements {@code CodedException}, so the code can be read from the base type.</p>
+     *
+     * @param packageName          the package where the base class will be placed
+     * @param sealedBaseName       the name of the base class
+     * @param exceptionClassesName the exceptions permitted by the base
+     * @param errorCodes           true if the exceptions have an error code
+     * @param originatingElement   the annotated interface, the only element the base depends on
+     */
+    private void writeSealedBase(String packageName, String sealedBaseName, String[] exceptionClassesName, boolean errorCodes,
+                                 TypeElement originatingElement) {
+        try {
+            JavaFileObject javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + sealedBaseName, originatingElement);
+            try (Writer writer = emitter.open(javaFileObject)) {
+                writer.write("package " + packageName + ";\n\n");
+                writer.write("import com.orbis.exception.annotations.Generated;");
+                writeGeneratedAnnotation(writer);
+                writer.write("public abstract sealed class " + sealedBaseName + " extends RuntimeException"
+                        + (errorCodes ? " implements com.orbis.exception.runtime.CodedException" : "") + "\n");
+                writer.write("        permits " + String.join(", ", exceptionClassesName) + " {\n\n");
+
+                writer.write("\tprotected " + sealedBaseName + "() {\n");
+                writer.write("\t}\n\n");
+                writer.write("\tprotected " + sealedBaseName + "(String message) {\n");
+                writer.write("\t\tsuper(message);\n");
+                writer.write("\t}\n\n");
+                writer.write("\tprotected " + sealedBaseName + "(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {\n");
+                writer.write("\t\tsuper(message, cause, enableSuppression, writableStackTrace);\n");
+                writer.write("\t}\n");
+                writer.write("}\n");
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the sealed base " + sealedBaseName, originatingElement);
+        }
+    }
+
+    /**
+     * Returns the name of the sealed base class of an interface, checking that it is a valid
+     * class name, different from the generated exceptions. Otherwise a compilation error is
+     * reported and no base is generated.
+     *
+     * @param exceptionMaker the annotation placed on the interface
+     * @param element        the annotated interface, used as position of the error
+     * @return the name of the base class, {@code null} if no base must be generated
+     */
+    private String getSealedBaseName(ExceptionMaker exceptionMaker, Element element) {
+        String sealedBaseName = exceptionMaker.sealedBaseName();
+        if (sealedBaseName.isEmpty()) {
+            return null;
+        }
+        if (!SourceVersion.isIdentifier(sealedBaseName) || SourceVersion.isKeyword(sealedBaseName)) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "sealedBaseName " + sealedBaseName + " is not a valid class name", element);
+            return null;
+        }
+        if (Arrays.asList(exceptionMaker.classesName()).contains(sealedBaseName)) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "sealedBaseName " + sealedBaseName + " is also declared in classesName", element);
+            return null;
+        }
+        if (exceptionMaker.classesName().length == 0) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.WARNING, "sealedBaseName is ignored: classesName is empty", element);
+            return null;
+        }
+        return sealedBaseName;
+    }
+
+    /**
+     * Returns the {@code implements} clause of an exception class with an error code.
+     *
+     * @param errorCode the error code of the exception, {@code null} if it has no code
+     * @return the clause, empty if the exception has no code
+     */
+    private String implementsClause(Integer errorCode) {
+        return errorCode == null ? "" : " implements com.orbis.exception.runtime.CodedException";
+    }
+
+    /**
+     * Writes the {@code CODE} constant of an exception class, usable as {@code case} label.
+     *
+     * @param writer    the writer of the exception class
+     * @param errorCode the error code of the exception, {@code null} if it has no code
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeErrorCodeConstant(Writer writer, Integer errorCode) throws IOException {
+        if (errorCode != null) {
+            writer.write("    public static final int CODE = " + errorCode + ";\n\n");
+        }
+    }
+
+    /**
+     * Writes the {@code code()} accessor of an exception class.
+     *
+     * @param writer    the writer of the exception class
+     * @param errorCode the error code of the exception, {@code null} if it has no code
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeErrorCodeAccessor(Writer writer, Integer errorCode) throws IOException {
+        if (errorCode != null) {
+            writer.write("\t@Override\n");
+            writer.write("\tpublic int code(){\n");
+            writer.write("\t\treturn CODE;\n");
+            writer.write("\t}\n");
+        }
+    }
+
+    /**
+     * Writes the fields of the stack trace policy of an exception class: the {@code STACK_TRACE_SAMPLER}
+     * shared by all the instances of a class with a sampling policy, the compact stack trace with its
+     * {@code EXCLUDED_FRAMES}, and the {@code cause} of the exceptions created without suppression,
+     * see {@link #writeStackTraceMethods}.
+     *
+     * @param writer           the writer of the exception class
+     * @param stackTracePolicy how the exception captures its stack trace
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeStackTraceFields(Writer writer, StackTracePolicyException stackTracePolicy) throws IOException {
+        if (stackTracePolicy.isSampled()) {
+            writer.write("    private static final com.orbis.exception.runtime.StackTraceSampler STACK_TRACE_SAMPLER =\n");
+            writer.write("            " + stackTracePolicy.getStackTraceSampler() + ";\n\n");
+        }
+        if (stackTracePolicy.isCompact()) {
+            writer.write("    private static final String[] EXCLUDED_FRAMES = {" + Arrays.stream(stackTracePolicy.getExcludedFrames())
+                    .map(excludedFrame -> "\"" + excludedFrame.replace("\\", "\\\\").replace("\"", "\\\"") + "\"")
+                    .collect(Collectors.joining(", ")) + "};\n\n");
+            writer.write("    private transient com.orbis.exception.runtime.CompactStackTrace compactStackTrace;\n\n");
+        }
+        if (stackTracePolicy.isStackless() || stackTracePolicy.isSampled()) {
+            writer.write("    private Throwable cause = this;\n\n");
+        }
+    }
+
+    /**
+     * Writes the methods of the stack trace policy of an exception class.
+     * <p>
+     * A compact exception overrides {@code fillInStackTrace()}, that captures only the top frames instead
+     * of the full JVM stack trace and keeps them in raw form: {@code getStackTrace()}, {@code printStackTrace(...)}
+     * and the serialization convert them to {@link StackTraceElement} the first time they are needed, so an
+     * exception caught without reading its stack trace never pays for the conversion.
+     * </p>
+     * <p>
+     * The constructors of {@link RuntimeException} with suppression disabled also initialize the cause,
+     * so a stackless or sampled exception keeps its own {@code cause}, uninitialized until set by
+     * {@code initCause} or by the {@code wrap} factories, and overrides {@code getCause()} and
+     * {@code initCause(Throwable)} with the same contract of {@link Throwable}.
+     * </p>
+     *
+     * @param writer           the writer of the exception class
+     * @param stackTracePolicy how the exception captures its stack trace
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeStackTraceMethods(Writer writer, StackTracePolicyException stackTracePolicy) throws IOException {
+        if (stackTracePolicy.isCompact()) {
+            writeCompactStackTraceMethods(writer, stackTracePolicy);
+        }
+        if (!stackTracePolicy.isStackless() && !stackTracePolicy.isSampled()) {
+            return;
+        }
+        writer.write("\t@Override\n");
+        writer.write("\tpublic synchronized Throwable getCause(){\n");
+        writer.write("\t\treturn cause == this ? null : cause;\n");
+        writer.write("\t}\n");
+
+        writer.write("\t@Override\n");
+        writer.write("\tpublic synchronized Throwable initCause(Throwable cause){\n");
+        writer.write("\t\tif (this.cause != this) {\n");
+        writer.write("\t\t\tthrow new IllegalStateException(\"Can't overwrite cause with \" + java.util.Objects.toString(cause, \"a null\"), this);\n");
+        writer.write("\t\t}\n");
+        writer.write("\t\tif (cause == this) {\n");
+        writer.write("\t\t\tthrow new IllegalArgumentException(\"Self-causation not permitted\", this);\n");
+        writer.write("\t\t}\n");
+        writer.write("\t\tthis.cause = cause;\n");
+        writer.write("\t\treturn this;\n");
+        writer.write("\t}\n");
+    }
+
+    /**
+     * Writes the methods of the compact stack trace, see {@link #writeStackTraceMethods}.
+     *
+     * @param writer           the writer of the exception class
+     * @param stackTracePolicy how the exception captures its stack trace
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeCompactStackTraceMethods(Writer writer, StackTracePolicyException stackTracePolicy) throws IOException {
+        writer.write("\t@Override\n");
+        writer.write("\tpublic synchronized Throwable fillInStackTrace(){\n");
+        writer.write("\t\tcompactStackTrace = com.orbis.exception.runtime.CompactStackTrace.capture("
+                + stackTracePolicy.getStackTraceDepth() + ", EXCLUDED_FRAMES);\n");
+        writer.write("\t\treturn this;\n");
+        writer.write("\t}\n");
+
+        writer.write("\t@Override\n");
+        writer.write("\tpublic StackTraceElement[] getStackTrace(){\n");
+        writer.write("\t\tmaterializeStackTrace();\n");
+        writer.write("\t\treturn super.getStackTrace();\n");
+        writer.write("\t}\n");
+
+        writer.write("\t@Override\n");
+        writer.write("\tpublic void setStackTrace(StackTraceElement[] stackTrace){\n");
+        writer.write("\t\tsynchronized (this) {\n");
+        writer.write("\t\t\tcompactStackTrace = null;\n");
+        writer.write("\t\t}\n");
+        writer.write("\t\tsuper.setStackTrace(stackTrace);\n");
+        writer.write("\t}\n");
+
+        for (String stream : List.of("java.io.PrintStream", "java.io.PrintWriter")) {
+            writer.write("\t@Override\n");
+            writer.write("\tpublic void printStackTrace(" + stream + " stream){\n");
+            writer.write("\t\tmaterializeStackTrace();\n");
+            writer.write("\t\tsuper.printStackTrace(stream);\n");
+            writer.write("\t}\n");
+        }
+
+        writer.write("\tprivate Object writeReplace(){\n");
+        writer.write("\t\tmaterializeStackTrace();\n");
+        writer.write("\t\treturn this;\n");
+        writer.write("\t}\n");
+
+        writer.write("\tprivate synchronized void materializeStackTrace(){\n");
+        writer.write("\t\tcom.orbis.exception.runtime.CompactStackTrace captured = compactStackTrace;\n");
+        writer.write("\t\tif (captured != null) {\n");
+        writer.write("\t\t\tcompactStackTrace = null;\n");
+        writer.write("\t\t\tsuper.setStackTrace(captured.toStackTraceElements());\n");
+        writer.write("\t\t}\n");
+        writer.write("\t}\n");
+    }
+
+    /**
+     * Writes the assignment of the {@code cause} of a stackless or sampled exception in the private
+     * constructor of the {@code immutable} and {@code wrap} factories, initializing it like the one of
+     * {@link Throwable}.
+     *
+     * @param writer           the writer of the exception class
+     * @param stackTracePolicy how the exception captures its stack trace
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeCauseAssignment(Writer writer, StackTracePolicyException stackTracePolicy) throws IOException {
+        if (stackTracePolicy.isStackless() || stackTracePolicy.isSampled()) {
+            writer.write("\t\tthis.cause = cause;\n");
+        }
+    }
+
+    /**
+     * Builds the {@code super(...)} invocation of a generated public constructor.
+     * <p>
+     * A stackless exception uses the protected constructor of {@link RuntimeException}
+     * with suppression and writable stack trace disabled, so the JVM never walks the stack
+     * when the exception is created. A sampled exception uses the same constructor, with
+     * the writable stack trace decided by its {@code STACK_TRACE_SAMPLER}.
+     * </p>
+     *
+     * @param message          the expression passed as message
+     * @param stackTracePolicy how the exception captures its stack trace
+     * @return the source line of the {@code super(...)} invocation
+     */
+    private String superConstructorCall(String message, StackTracePolicyException stackTracePolicy) {
+        if (stackTracePolicy.isStackless()) {
+            return "\t\tsuper(" + message + ", null, false, false);\n";
+        }
+        if (stackTracePolicy.isSampled()) {
+            return "\t\tsuper(" + message + ", null, false, STACK_TRACE_SAMPLER.sample());\n";
+        }
+        return "\t\tsuper(" + message + ");\n";
+    }
+
+    /**
+     * Resolves how an exception class captures its stack trace.
+     *
+     * @param exceptionMaker     the annotation placed on the interface
+     * @param exceptionClassName the exception class to check
+     * @return the stack trace policy of the class
+     */
+    private StackTracePolicyException getStackTracePolicy(ExceptionMaker exceptionMaker, String exceptionClassName) {
+        StackTracePolicyException stackTracePolicy = new StackTracePolicyException();
+        stackTracePolicy.setStackless(isStackless(exceptionMaker, exceptionClassName));
+        stackTracePolicy.setStackTraceSampler(getStackTraceSampler(exceptionMaker, exceptionClassName));
+        stackTracePolicy.setStackTraceDepth(Math.max(exceptionMaker.stackTraceDepth(), 0));
+        stackTracePolicy.setExcludedFrames(exceptionMaker.stackTraceExcludedFrames());
+        return stackTracePolicy;
+    }
+
+    /**
+     * Returns the expression creating the stack trace sampler of an exception class,
+     * see {@link ExceptionMaker#stackTraceOneIn()} and {@link ExceptionMaker#stackTracePerWindow()}.
+     *
+     * @param exceptionMaker     the annotation placed on the interface
+     * @param exceptionClassName the exception class to check
+     * @return the expression, or {@code null} if the class has no sampling policy or is stackless
+     */
+    private String getStackTraceSampler(ExceptionMaker exceptionMaker, String exceptionClassName) {
+        boolean sampled = exceptionMaker.stackTraceOneIn() > 1 || exceptionMaker.stackTracePerWindow() > 0;
+        if (!sampled || !isValidStackTraceSampling(exceptionMaker) || isStackless(exceptionMaker, exceptionClassName)
+                || (exceptionMaker.sampledClassesName().length > 0
+                && !Arrays.asList(exceptionMaker.sampledClassesName()).contains(exceptionClassName))) {
+            return null;
+        }
+        return "new com.orbis.exception.runtime.StackTraceSampler(" + exceptionMaker.stackTraceOneIn() + ", "
+                + exceptionMaker.stackTracePerWindow() + ", " + exceptionMaker.stackTraceWindowMillis() + "L)";
+    }
+
+    private boolean isValidStackTraceSampling(ExceptionMaker exceptionMaker) {
+        return exceptionMaker.stackTraceOneIn() >= 0 && exceptionMaker.stackTracePerWindow() >= 0 && exceptionMaker.stackTraceWindowMillis() > 0;
+    }
+
+    /**
+     * Checks the stack trace sampling policy: reports an error if a limit is negative or the window
+     * is not positive, and a warning for each name in {@link ExceptionMaker#sampledClassesName()} that
+     * is not declared in {@link ExceptionMaker#classesName()} or is stackless.
+     *
+     * @param exceptionMaker the annotation placed on the interface
+     * @param element        the annotated interface, used as position of the diagnostics
+     */
+    private void checkStackTraceSampling(ExceptionMaker exceptionMaker, Element element) {
+        if (!isValidStackTraceSampling(exceptionMaker)) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "stackTraceOneIn and stackTracePerWindow cannot be negative, stackTraceWindowMillis must be positive", element);
+        }
+        if (exceptionMaker.stackTraceDepth() < 0) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "stackTraceDepth cannot be negative", element);
+        }
+        List<String> exceptionClassesName = Arrays.asList(exceptionMaker.classesName());
+        for (String sampledClassName : exceptionMaker.sampledClassesName()) {
+            if (!exceptionClassesName.contains(sampledClassName)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "sampledClassesName contains " + sampledClassName + " that is not declared in classesName", element);
+            } else if (isStackless(exceptionMaker, sampledClassName)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "sampledClassesName contains " + sampledClassName + " that is stackless: it never captures the stack trace", element);
+            }
+        }
+    }
+
+    /**
+     * Checks if an exception class must be generated without stack trace,
+     * because of {@link ExceptionMaker#stackless()} or {@link ExceptionMaker#stacklessClassesName()}.
+     *
+     * @param exceptionMaker     the annotation placed on the interface
+     * @param exceptionClassName the exception class to check
+     * @return true if the exception must be generated without stack trace
+     */
+    private boolean isStackless(ExceptionMaker exceptionMaker, String exceptionClassName) {
+        return exceptionMaker.stackless() || Arrays.asList(exceptionMaker.stacklessClassesName()).contains(exceptionClassName);
+    }
+
+    /**
+     * Reports a warning for each name in {@link ExceptionMaker#stacklessClassesName()}
+     * that is not declared in {@link ExceptionMaker#classesName()}.
+     *
+     * @param exceptionMaker the annotation placed on the interface
+     * @param element        the annotated interface, used as position of the warning
+     */
+    private void checkStacklessClassesName(ExceptionMaker exceptionMaker, Element element) {
+        List<String> exceptionClassesName = Arrays.asList(exceptionMaker.classesName());
+        for (String stacklessClassName : exceptionMaker.stacklessClassesName()) {
+            if (!exceptionClassesName.contains(stacklessClassName)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "stacklessClassesName contains " + stacklessClassName + " that is not declared in classesName", element);
+            }
+        }
+    }
+
     /**
      * Writes a custom {@code @Generated} annotation to the provided {@link Writer}.
      * <p>
      * The annotation includes:
      * <ul>
      *   <li><b>version</b> – the version of the JAR, retrieved from {@code PROJECT.VERSION}</li>
-     *   <li><b>date</b> – the current generation timestamp, formatted as {@code dd/MM/yyyy HH:mm:ss}</li>
+     *   <li><b>date</b> – the generation timestamp, formatted as {@code dd/MM/yyyy HH:mm:ss},
+     *   fixed when the output must be reproducible (see {@link GenerationDate})</li>
      *   <li><b>packageInfo</b> – the package name, retrieved from {@code PROJECT.PACKAGE}</li>
      * </ul>
      * <p>
      * This method is typically used during code generation to embed metadata
      * about the build and environment directly into the generated source code.
+     * It is rendered once and reused for all the files, see {@link SourceEmitter}.
      * </p>
      *
      * @param writer the {@link Writer} where the annotation will be written
@@ -197,16 +1328,8 @@ public class ExceptionMakerProcessor extends AbstractProcessor {
      *         an error message is also reported via the annotation processing environment
      */
     private void writeGeneratedAnnotation(Writer writer) {
-        String version = PROJECT.VERSION.getValue();
-        String infoPackage = PROJECT.PACKAGE.getValue();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        String date = LocalDateTime.now().format(formatter);
         try {
-            writer.write("\n@Generated(\n");
-            writer.write("\tversion=  \"" + version + "\"" + ",\n");
-            writer.write("\tdate=  \"" + date + "\"" + ",\n");
-            writer.write("\tpackageInfo=  \"" + infoPackage + "\"" + "\n");
-            writer.write("\t)\n");
+            writer.write(emitter.generatedAnnotation(processingEnv));
         } catch (IOException exception) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the @Generated annotation " + exception.getCause());
         }
@@ -0,0 +1,400 @@
+package com.orbis.exception;
+
+import com.google.auto.service.AutoService;
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.exception.runtime.CodeIndex;
+import com.orbis.exception.runtime.ExceptionIndex;
+import com.orbis.exception.runtime.PerfectHash;
+import com.orbis.type.InterfaceModelException;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.ExecutableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@AutoService(Processor.class)
+@SupportedAnnotationTypes({"com.orbis.exception.annotations.ExceptionMaker", "com.orbis.exception.annotations.ExceptionRunner"})
+@SupportedSourceVersion(SourceVersion.RELEASE_23)
+@SupportedOptions({GenerationDate.REPRODUCIBLE_OPTION, ProcessorProfile.VERBOSITY_OPTION, ProcessorProfile.PROFILE_OPTION})
+public class ExceptionRegistryProcessor extends AbstractProcessor {
+
+    /**
+     * Simple name of the registry generated in each package.
+     */
+    static final String REGISTRY_CLASS_NAME = "ExceptionCodeRegistry";
+
+    /**
+     * Simple name of the factory table generated in each package, see {@link ExceptionMaker#factoryTable()}.
+     */
+    static final String FACTORIES_CLASS_NAME = "ExceptionFactories";
+
+    /**
+     * Packages whose registry has already been generated, in a previous round.
+     */
+    private final Set<String> generatedPackages = new HashSet<>();
+
+    /**
+     * Packages whose factory table has already been generated, in a previous round.
+     */
+    private final Set<String> generatedFactoryPackages = new HashSet<>();
+
+    /**
+     * Annotated interfaces of all the rounds, written in the {@link ExceptionIndex} when the processing is over.
+     */
+    private final List<InterfaceModelException> indexedInterfaces = new ArrayList<>();
+
+    /**
+     * Verbosity and profiling of the processor, see {@link ProcessorProfile}.
+     */
+    private ProcessorProfile profile;
+
+    /**
+     * Buffer reused for all the generated files, see {@link SourceEmitter}.
+     */
+    private SourceEmitter emitter;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        profile = ProcessorProfile.of(processingEnv, getClass());
+        emitter = new SourceEmitter(processingEnv, profile);
+    }
+
+    /**
+     * Generates an {@code ExceptionCodeRegistry} in each package having exceptions
+     * with error codes, see {@link ExceptionMaker#errorCodes()}.
+     *
+     * <p>The registry collects the codes of all the annotated interfaces of the package,
+     * so it depends on all of them: this processor is declared aggregating, while
+     * {@link ExceptionMakerProcessor} and {@link ExceptionRunnerProcessor} stay isolating.</p>
+     *
+     * <p>For the same reason this processor writes the {@code ExceptionFactories} of each package
+     * having exceptions with {@link ExceptionMaker#factoryTable()}, and the {@link ExceptionIndex} of the compilation,
+     * in the last round, from the interfaces modelled for the other processors in each round.</p>
+     *
+     * @param annotations the set of annotation types requested to be processed
+     * @param roundEnv    environment for information about the current and prior round
+     * @return {@code false}, the annotations are also processed by {@link ExceptionMakerProcessor}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        long roundStart = profile.startRound();
+        if (roundEnv.processingOver()) {
+            if (!indexedInterfaces.isEmpty()) {
+                writeIndex();
+            }
+            profile.endRound(roundStart);
+            profile.finish();
+            return false;
+        }
+
+        long collectionStart = profile.start();
+        List<InterfaceModelException> roundInterfaces = RoundModel.of(roundEnv, processingEnv).getInterfaces();
+        profile.stop(ProcessorProfile.Phase.COLLECTION, collectionStart);
+        profile.countElements(roundInterfaces.size(), roundInterfaces.stream().mapToInt(interfaceModel -> interfaceModel.getRunnerMethods().size()).sum());
+
+        Map<String, List<InterfaceModelException>> interfacesByPackage = new TreeMap<>();
+        Map<String, List<InterfaceModelException>> factoryInterfacesByPackage = new TreeMap<>();
+        for (InterfaceModelException interfaceModel : roundInterfaces) {
+            indexedInterfaces.add(interfaceModel);
+            if (interfaceModel.getExceptionMaker() != null && interfaceModel.getExceptionMaker().factoryTable()) {
+                factoryInterfacesByPackage.computeIfAbsent(interfaceModel.getPackageName(), key -> new ArrayList<>()).add(interfaceModel);
+            }
+            if (interfaceModel.getExceptionMaker() != null && ErrorCodes.isEnabled(interfaceModel.getExceptionMaker())) {
+                interfacesByPackage.computeIfAbsent(interfaceModel.getPackageName(), key -> new ArrayList<>()).add(interfaceModel);
+            }
+        }
+
+        for (Map.Entry<String, List<InterfaceModelException>> packageInterfaces : interfacesByPackage.entrySet()) {
+            String packageName = packageInterfaces.getKey();
+            List<InterfaceModelException> interfaceModels = packageInterfaces.getValue();
+            if (!generatedPackages.add(packageName)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "The " + REGISTRY_CLASS_NAME + " of " + packageName
+                                + " was generated in a previous round: the codes of this interface are not registered", interfaceModels.get(0).getInterfaceElement());
+                continue;
+            }
+
+            Map<String, Integer> codes = collectCodes(interfaceModels);
+            if (codes != null && !codes.isEmpty()) {
+                writeRegistry(packageName, codes, interfaceModels);
+            }
+        }
+
+        for (Map.Entry<String, List<InterfaceModelException>> packageInterfaces : factoryInterfacesByPackage.entrySet()) {
+            String packageName = packageInterfaces.getKey();
+            List<InterfaceModelException> interfaceModels = packageInterfaces.getValue();
+            if (!generatedFactoryPackages.add(packageName)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "The " + FACTORIES_CLASS_NAME + " of " + packageName
+                                + " was generated in a previous round: the exceptions of this interface are not added", interfaceModels.get(0).getInterfaceElement());
+                continue;
+            }
+            writeFactories(packageName, interfaceModels);
+        }
+        profile.endRound(roundStart);
+        return false;
+    }
+
+    /**
+     * Collects the error codes of all the exceptions of a package, in order of package and interface name.
+     *
+     * @param interfaceModels the annotated interfaces of the package
+     * @return the code of each exception, or {@code null} if two exceptions have the same code
+     */
+    private Map<String, Integer> collectCodes(List<InterfaceModelException> interfaceModels) {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        Map<Integer, String> namesByCode = new HashMap<>();
+        boolean valid = true;
+        for (InterfaceModelException interfaceModel : interfaceModels) {
+            for (Map.Entry<String, Integer> code : ErrorCodes.assign(interfaceModel).entrySet()) {
+                String sameCode = namesByCode.putIfAbsent(code.getValue(), code.getKey());
+                if (sameCode != null) {
+                    processingEnv.getMessager()
+                            .printMessage(Diagnostic.Kind.ERROR, "The error code " + code.getValue() + " of " + code.getKey()
+                                    + " is already used by " + sameCode + ": declare distinct codes", interfaceModel.getInterfaceElement());
+                    valid = false;
+                }
+                codes.put(code.getKey(), code.getValue());
+            }
+        }
+        return valid ? codes : null;
+    }
+
+    /**
+     * Writes the registry of a package.
+     *
+     * <p>The exceptions are indexed by ordinal in parallel arrays. The slots of the
+     * {@link CodeIndex} are computed here, at compile time, and written as a constant array,
+     * so a lookup by code is an array access with no hashing of strings and no reflection.</p>
+     *
+     * @param packageName     the package of the registry
+     * @param codes           the code of each exception
+     * @param interfaceModels the annotated interfaces of the package, the elements the registry depends on
+     */
+    private void writeRegistry(String packageName, Map<String, Integer> codes, List<InterfaceModelException> interfaceModels) {
+        int[] codesByOrdinal = codes.values().stream().mapToInt(Integer::intValue).toArray();
+        TypeElement[] originatingElements = interfaceModels.stream()
+                .map(InterfaceModelException::getInterfaceElement)
+                .toArray(TypeElement[]::new);
+
+        try {
+            JavaFileObject javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + REGISTRY_CLASS_NAME, originatingElements);
+            try (Writer writer = emitter.open(javaFileObject)) {
+                writer.write("package " + packageName + ";\n\n");
+                writer.write("import com.orbis.exception.annotations.Generated;\n");
+                writer.write("import com.orbis.exception.runtime.CodeIndex;\n");
+                writeGeneratedAnnotation(writer);
+                writer.write("public final class " + REGISTRY_CLASS_NAME + " {\n");
+
+                writer.write("    private static final int[] CODES = {" + Arrays.stream(codesByOrdinal)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.joining(", ")) + "};\n");
+                writer.write("    private static final String[] NAMES = {" + codes.keySet().stream()
+                        .map(name -> "\"" + name + "\"")
+                        .collect(Collectors.joining(", ")) + "};\n");
+                writer.write("    private static final Class<?>[] TYPES = {" + codes.keySet().stream()
+                        .map(name -> name + ".class")
+                        .collect(Collectors.joining(", ")) + "};\n");
+                writer.write("    private static final int[] SLOTS = {" + Arrays.stream(CodeIndex.buildSlots(codesByOrdinal))
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.joining(", ")) + "};\n\n");
+
+                writer.write("\tprivate " + REGISTRY_CLASS_NAME + "() {\n");
+                writer.write("\t}\n\n");
+
+                writer.write("\tpublic static int size(){\n");
+                writer.write("\t\treturn CODES.length;\n");
+                writer.write("\t}\n");
+
+                writer.write("\tpublic static int ordinalOf(int code){\n");
+                writer.write("\t\treturn CodeIndex.indexOf(SLOTS, CODES, code);\n");
+                writer.write("\t}\n");
+
+                writer.write("\tpublic static int codeAt(int ordinal){\n");
+                writer.write("\t\treturn CODES[ordinal];\n");
+                writer.write("\t}\n");
+
+                writer.write("\tpublic static String nameOf(int code){\n");
+                writer.write("\t\tint ordinal = ordinalOf(code);\n");
+                writer.write("\t\treturn ordinal < 0 ? null : NAMES[ordinal];\n");
+                writer.write("\t}\n");
+
+                writer.write("\tpublic static Class<?> typeOf(int code){\n");
+                writer.write("\t\tint ordinal = ordinalOf(code);\n");
+                writer.write("\t\treturn ordinal < 0 ? null : TYPES[ordinal];\n");
+                writer.write("\t}\n");
+
+                writer.write("}\n");
+            }
+            if (emitter.isWritten()) {
+                NativeImageMetadata.writePackageClass(processingEnv, emitter, packageName + "." + REGISTRY_CLASS_NAME, originatingElements);
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the " + REGISTRY_CLASS_NAME + " of " + packageName);
+        }
+    }
+
+    /**
+     * Writes the factory table of a package, creating its exceptions by simple name with no reflection.
+     *
+     * <p>The slot of each name is given by a {@link PerfectHash} computed here, at compile time: the
+     * names and the constructor lambdas are written in slot order, so a lookup hashes the name once
+     * and compares it with the single candidate of its slot.</p>
+     * <pre>
+     * {@code
+     *  private static final String[] NAMES = {"InvalidRequestException", "UserNotFoundException"};
+     *  private static final ExceptionFactory[] FACTORIES = {InvalidRequestException::new, UserNotFoundException::new};
+     * }
+     * </pre>
+     *
+     * @param packageName     the package of the table
+     * @param interfaceModels the interfaces of the package with {@link ExceptionMaker#factoryTable()}
+     */
+    private void writeFactories(String packageName, List<InterfaceModelException> interfaceModels) {
+        Map<String, String> factoriesByName = new LinkedHashMap<>();
+        for (InterfaceModelException interfaceModel : interfaceModels) {
+            ExceptionMaker exceptionMaker = interfaceModel.getExceptionMaker();
+            for (String exceptionName : exceptionMaker.classesName()) {
+                String factory = exceptionMaker.enableCustomParameterOrder()
+                        ? "(message, params) -> new " + exceptionName + "(params)"
+                        : exceptionName + "::new";
+                if (factoriesByName.putIfAbsent(exceptionName, factory) != null) {
+                    processingEnv.getMessager()
+                            .printMessage(Diagnostic.Kind.ERROR, exceptionName + " is declared by more than one interface of " + packageName,
+                                    interfaceModel.getInterfaceElement());
+                    return;
+                }
+            }
+        }
+        if (factoriesByName.isEmpty()) {
+            return;
+        }
+
+        String[] names = factoriesByName.keySet().toArray(String[]::new);
+        int[] seeds = PerfectHash.buildSeeds(names);
+        String[] namesBySlot = new String[names.length];
+        for (String name : names) {
+            namesBySlot[PerfectHash.slotOf(seeds, name)] = name;
+        }
+        TypeElement[] originatingElements = interfaceModels.stream()
+                .map(InterfaceModelException::getInterfaceElement)
+                .toArray(TypeElement[]::new);
+
+        try {
+            JavaFileObject javaFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + FACTORIES_CLASS_NAME, originatingElements);
+            try (Writer writer = emitter.open(javaFileObject)) {
+                writer.write("package " + packageName + ";\n\n");
+                writer.write("import com.orbis.exception.annotations.Generated;\n");
+                writer.write("import com.orbis.exception.runtime.ExceptionFactory;\n");
+                writer.write("import com.orbis.exception.runtime.PerfectHash;\n");
+                writeGeneratedAnnotation(writer);
+                writer.write("public final class " + FACTORIES_CLASS_NAME + " {\n");
+
+                writer.write("    private static final int[] SEEDS = {" + Arrays.stream(seeds)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.joining(", ")) + "};\n");
+                writer.write("    private static final String[] NAMES = {" + Arrays.stream(namesBySlot)
+                        .map(name -> "\"" + name + "\"")
+                        .collect(Collectors.joining(", ")) + "};\n");
+                writer.write("    private static final ExceptionFactory[] FACTORIES = {\n" + Arrays.stream(namesBySlot)
+                        .map(name -> "            " + factoriesByName.get(name))
+                        .collect(Collectors.joining(",\n")) + "\n    };\n\n");
+
+                writer.write("\tprivate " + FACTORIES_CLASS_NAME + "() {\n");
+                writer.write("\t}\n\n");
+
+                writer.write("\tpublic static int size(){\n");
+                writer.write("\t\treturn NAMES.length;\n");
+                writer.write("\t}\n");
+
+                writer.write("\tpublic static ExceptionFactory factoryOf(String simpleName){\n");
+                writer.write("\t\tint slot = PerfectHash.slotOf(SEEDS, simpleName);\n");
+                writer.write("\t\treturn NAMES[slot].equals(simpleName) ? FACTORIES[slot] : null;\n");
+                writer.write("\t}\n");
+
+                writer.write("\tpublic static RuntimeException create(String simpleName, String message, Object... params){\n");
+                writer.write("\t\tExceptionFactory factory = factoryOf(simpleName);\n");
+                writer.write("\t\tif (factory == null) {\n");
+                writer.write("\t\t\tthrow new IllegalArgumentException(\"Unknown exception \" + simpleName + \" in " + packageName + "\");\n");
+                writer.write("\t\t}\n");
+                writer.write("\t\treturn factory.create(message, params);\n");
+                writer.write("\t}\n");
+
+                writer.write("}\n");
+            }
+            if (emitter.isWritten()) {
+                NativeImageMetadata.writePackageClass(processingEnv, emitter, packageName + "." + FACTORIES_CLASS_NAME, originatingElements);
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the " + FACTORIES_CLASS_NAME + " of " + packageName);
+        }
+    }
+
+    /**
+     * Writes the {@link ExceptionIndex} of the compilation: one line for each exception of an
+     * {@link ExceptionMaker} interface, with the {@code *Impl} methods of the same package throwing it.
+     *
+     * <p>The index depends on all the annotated interfaces, they are all its originating elements.</p>
+     */
+    private void writeIndex() {
+        Map<String, Set<String>> implMethodsByException = new HashMap<>();
+        for (InterfaceModelException interfaceModel : indexedInterfaces) {
+            for (Map.Entry<String, List<ExecutableElement>> runnerMethods : interfaceModel.getRunnerMethodsByExceptionName().entrySet()) {
+                Set<String> implMethods = implMethodsByException
+                        .computeIfAbsent(interfaceModel.getPackageName() + "." + runnerMethods.getKey(), key -> new LinkedHashSet<>());
+                for (ExecutableElement runnerMethod : runnerMethods.getValue()) {
+                    implMethods.add(interfaceModel.getInterfaceName() + "Impl." + runnerMethod.getSimpleName());
+                }
+            }
+        }
+
+        StringBuilder index = new StringBuilder(ExceptionIndex.HEADER).append('\n');
+        for (InterfaceModelException interfaceModel : indexedInterfaces) {
+            if (interfaceModel.getExceptionMaker() == null) {
+                continue;
+            }
+            for (String exceptionName : interfaceModel.getExceptionMaker().classesName()) {
+                index.append(ExceptionIndex.formatLine(interfaceModel.getPackageName(), exceptionName, interfaceModel.getInterfaceName(),
+                        implMethodsByException.getOrDefault(interfaceModel.getPackageName() + "." + exceptionName, Set.of()))).append('\n');
+            }
+        }
+
+        TypeElement[] originatingElements = indexedInterfaces.stream()
+                .map(InterfaceModelException::getInterfaceElement)
+                .toArray(TypeElement[]::new);
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ExceptionIndex.RESOURCE, originatingElements);
+            try (Writer writer = emitter.open(resource)) {
+                writer.write(index.toString());
+            }
+            if (emitter.isWritten()) {
+                NativeImageMetadata.writeIndex(processingEnv, emitter, originatingElements);
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of " + ExceptionIndex.RESOURCE + ": " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Writes a custom {@code @Generated} annotation to the provided {@link Writer},
+     * with the same content of the one written by {@link ExceptionMakerProcessor}.
+     *
+     * @param writer the {@link Writer} where the annotation will be written
+     */
+    private void writeGeneratedAnnotation(Writer writer) {
+        try {
+            writer.write(emitter.generatedAnnotation(processingEnv));
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the @Generated annotation " + exception.getCause());
+        }
+    }
+}
@@ -2,27 +2,68 @@ package com.orbis.exception;
 
 import com.google.auto.service.AutoService;
 import com.orbis.exception.annotations.ExceptionRunner;
-import com.orbis.exception.info.PROJECT;
-import com.orbis.type.RunnerClassAndPackageException;
-import com.orbis.type.RunnerEnvironmentException;
+import com.orbis.type.InterfaceModelException;
 import com.orbis.type.RunnerMethodTypesException;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @AutoService(Processor.class)
 @SupportedAnnotationTypes("com.orbis.exception.annotations.ExceptionRunner")
 @SupportedSourceVersion(SourceVersion.RELEASE_23)
+@SupportedOptions({GenerationDate.REPRODUCIBLE_OPTION, ProcessorProfile.VERBOSITY_OPTION, ProcessorProfile.PROFILE_OPTION})
 public class ExceptionRunnerProcessor extends AbstractProcessor {
+
+    /**
+     * Component models of the generated {@code *Impl}, see {@link ExceptionRunner#componentModel()}.
+     */
+    private static final String DEFAULT_MODEL = "default";
+    private static final String SPRING_MODEL = "spring";
+    private static final String STATIC_MODEL = "static";
+
+    /**
+     * Name of the static field holding the throw counters, see {@link ExceptionRunner#countThrows()}.
+     */
+    private static final String THROW_COUNTER = "THROW_COUNTER";
+
+    /**
+     * Asynchronous companions, see {@link ExceptionRunner#asyncVariant()}.
+     */
+    private static final String FUTURE_VARIANT = "future";
+    private static final String STAGE_VARIANT = "stage";
+
+    /**
+     * Methods of the result type, see {@link ExceptionRunner#resultVariant()}: a record component
+     * with the same name would clash with them.
+     */
+    private static final Set<String> RESULT_RESERVED_NAMES = Set.of("isSuccess", "toException", "throwIfFailure",
+            "exceptionClass", "hashCode", "toString", "getClass", "clone", "finalize", "notify", "notifyAll", "wait");
+
+    /**
+     * Verbosity and profiling of the processor, see {@link ProcessorProfile}.
+     */
+    private ProcessorProfile profile;
+
+    /**
+     * Buffer reused for all the generated files, see {@link SourceEmitter}.
+     */
+    private SourceEmitter emitter;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        profile = ProcessorProfile.of(processingEnv, getClass());
+        emitter = new SourceEmitter(processingEnv, profile);
+    }
+
     /**
      * Processes all elements annotated with {@link ExceptionRunner}.
      *
@@ -33,43 +74,71 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      *
      * @param annotations      the set of annotation types requested to be processed
      * @param roundEnvironment environment for information about the current and prior round
-     * @return {@code true} if the annotations are claimed by this processor,
-     * {@code false} otherwise
+     * @return {@code false}, the annotations are also processed by {@link ExceptionRegistryProcessor}
      */
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
 
-        Set<? extends Element> annotatedElementWithRunException = roundEnvironment.getElementsAnnotatedWith(ExceptionRunner.class);
-
-        List<Element> validAnnotations = trasformIntoListOfElements(annotatedElementWithRunException);
-        if (validAnnotations.isEmpty()) {
+        long roundStart = profile.startRound();
+        long collectionStart = profile.start();
+        List<InterfaceModelException> interfacesWithRunnerMethods = RoundModel.of(roundEnvironment, processingEnv)
+                .getInterfaces()
+                .stream()
+                .filter(interfaceModel -> !interfaceModel.getRunnerMethods().isEmpty())
+                .toList();
+        profile.stop(ProcessorProfile.Phase.COLLECTION, collectionStart);
+        if (interfacesWithRunnerMethods.isEmpty()) {
+            profile.endRound(roundStart);
+            if (roundEnvironment.processingOver()) {
+                profile.finish();
+            }
             return false;
         }
 
-        List<List<RunnerEnvironmentException>> groupsOfListsOfElement = collectElementAndTheirPackageAndInterfaceName(validAnnotations);
-
-        HashMap<RunnerClassAndPackageException, List<Element>> classesAndTheirMethodsRegistry = new HashMap<>();
-        classesAndTheirMethodsRegistry = createHashMap(groupsOfListsOfElement);
-
         try {
             JavaFileObject javaFileObject;
             String packageName;
             String interfaceName;
             String packageAndInterface;
 
-            for (Map.Entry<RunnerClassAndPackageException, List<Element>> entryClassesAndTheirMethodsRegistry : classesAndTheirMethodsRegistry.entrySet()) {
-                packageName = entryClassesAndTheirMethodsRegistry.getKey().getPackageName();
-                interfaceName = entryClassesAndTheirMethodsRegistry.getKey().getInterfaceName();
+            for (InterfaceModelException interfaceModel : interfacesWithRunnerMethods) {
+                packageName = interfaceModel.getPackageName();
+                interfaceName = interfaceModel.getInterfaceName();
                 packageAndInterface = packageName + "." + interfaceName + "Impl";
+                List<ExecutableElement> methodInClassAnnotatedWithExceptionMaker = interfaceModel.getRunnerMethods();
+                profile.countElements(1, methodInClassAnnotatedWithExceptionMaker.size());
+                for (ExecutableElement methodElement : methodInClassAnnotatedWithExceptionMaker) {
+                    printerAtCompileTime(methodElement.getSimpleName().toString(), interfaceName, packageName);
+                }
+                // The interface is the only element the Impl depends on, needed by the incremental compilers
                 javaFileObject = processingEnv.getFiler()
-                        .createSourceFile(packageAndInterface);
-                List<Element> methodInClassAnnotatedWithExceptionMaker = entryClassesAndTheirMethodsRegistry.getValue();
+                        .createSourceFile(packageAndInterface, interfaceModel.getInterfaceElement());
 
+                List<RunnerMethodTypesException> runnerList = createListForMakeExceptionRunnerMethods(methodInClassAnnotatedWithExceptionMaker);
+                String componentModel = getComponentModel(methodInClassAnnotatedWithExceptionMaker);
                 writePackageImpl(javaFileObject,
                         packageName,
                         interfaceName,
-                        methodInClassAnnotatedWithExceptionMaker
+                        methodInClassAnnotatedWithExceptionMaker,
+                        runnerList,
+                        componentModel
                 );
+                List<String> implClassesName = new ArrayList<>(List.of(packageAndInterface));
+                if (componentModel.equals(STATIC_MODEL)) {
+                    implClassesName.add(packageAndInterface + "$Static");
+                }
+                if (runnerList.stream().anyMatch(runner -> runner.getResultName() != null)) {
+                    String resultType = packageName + "." + interfaceName + "Result";
+                    writeResultType(processingEnv.getFiler()
+                                    .createSourceFile(resultType, interfaceModel.getInterfaceElement()),
+                            packageName, interfaceName, runnerList);
+                    implClassesName.add(resultType);
+                    implClassesName.add(resultType + "$Success");
+                    runnerList.stream()
+                            .filter(runner -> runner.getResultName() != null)
+                            .forEach(runner -> implClassesName.add(resultType + "$" + runner.getResultName()));
+                }
+                NativeImageMetadata.writeImpl(processingEnv, emitter, interfaceModel.getInterfaceElement(), implClassesName);
             }
 
         } catch (Exception e) {
@@ -79,151 +148,10 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
                             Diagnostic.Kind.ERROR, "error:" + e.getLocalizedMessage() + "\t" + Arrays.toString(e.getStackTrace()));
         }
 
-        return true;
-    }
-
-
-    /**
-     * Converts a set of elements annotated with {@link ExceptionRunner} into a list.
-     * <p>
-     * This method performs a simple transformation from a {@code Set} to a {@code List},
-     * preserving all elements without applying any filtering or modification.
-     *
-     * @param annotatedElementWithRunException the set of elements annotated with {@link ExceptionRunner}
-     * @return a list containing all elements from the input set
-     */
-    private List<Element> trasformIntoListOfElements(Set<? extends Element> annotatedElementWithRunException) {
-        List<Element> elementList = annotatedElementWithRunException
-                .stream()
-                .map(element-> (Element) element)
-                .toList();
-
-        return elementList;
-    }
-
-    /**
-     * Extracts package and interface information from a method
-     * annotated with {@link ExceptionRunner}.
-     *
-     * @param validAnnotation the annotated method element
-     * @return a container with package and interface name
-     */
-    private RunnerClassAndPackageException getClassAndImport(Element validAnnotation) {
-        ExecutableElement methodElement = (ExecutableElement) validAnnotation;
-        String methodName = methodElement.getSimpleName().toString();
-        //String exceptionNameClass = methodElement.getAnnotation(ExceptionRunner.class).exceptionMethod();
-
-        Element enclosingElement = methodElement.getEnclosingElement();
-        String interfaceName = enclosingElement.getSimpleName().toString();
-
-        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(enclosingElement);
-        String packageName = packageElement.getQualifiedName().toString();
-
-        printerAtCompileTime(methodName, interfaceName, packageName);
-
-        return new RunnerClassAndPackageException(packageName, interfaceName);
-    }
-
-    /**
-     * Collects metadata (package, interface, annotated method with @ExceptionRUnner) from the given elements
-     * and groups them by package and interface name.
-     *
-     * @param validAnnotations the list of annotated elements to process
-     * @return a list of groups, where each group contains elements
-     *         belonging to the same package and interface
-     */
-    private List<List<RunnerEnvironmentException>> collectElementAndTheirPackageAndInterfaceName(List<Element> validAnnotations){
-        String packageName;
-        String interfaceName;
-
-        RunnerClassAndPackageException runnerClassAndPackageException;
-        RunnerEnvironmentException runnerEnvironmentException;
-        List<RunnerEnvironmentException> runnerEnvironmentExceptionList = new ArrayList<>();
-
-        for(Element validAnnotation: validAnnotations){
-            runnerEnvironmentException = new RunnerEnvironmentException();
-            runnerClassAndPackageException = getClassAndImport(validAnnotation);
-            packageName = runnerClassAndPackageException.getPackageName();
-            interfaceName = runnerClassAndPackageException.getInterfaceName();
-            runnerEnvironmentException.setPackageName(packageName);
-            runnerEnvironmentException.setInterfaceName(interfaceName);
-            runnerEnvironmentException.setMethodWithValidAnnotation(validAnnotation);
-            runnerEnvironmentExceptionList.add(runnerEnvironmentException);
-        }
-
-        List<List<RunnerEnvironmentException>> groupsOfListsOfElement = groupElementsByPackageNameAndInterfaceName(runnerEnvironmentExceptionList);
-        return groupsOfListsOfElement;
-    }
-
-    /**
-     * Groups the given list of RunnerEnvironmentException by package and interface name.
-     * Each group contains all elements sharing the same package and interface.
-     *
-     * @param runnerEnvironmentExceptionList the list of elements to group
-     * @return a list of groups, where each group is a list of elements
-     *         with identical package and interface names
-     */
-    private List<List<RunnerEnvironmentException>> groupElementsByPackageNameAndInterfaceName(List<RunnerEnvironmentException> runnerEnvironmentExceptionList) {
-        List<List<RunnerEnvironmentException>> groupsOfListsOfElement = new ArrayList<>();
-
-        while (!runnerEnvironmentExceptionList.isEmpty()) {
-
-            RunnerEnvironmentException first = runnerEnvironmentExceptionList.removeFirst();
-
-            List<RunnerEnvironmentException> group = new ArrayList<>();
-            group.add(first);
-
-            Iterator<RunnerEnvironmentException> iterator = runnerEnvironmentExceptionList.iterator();
-            while (iterator.hasNext()) {
-                RunnerEnvironmentException current = iterator.next();
-                if (current.getPackageName().equals(first.getPackageName()) &&
-                        current.getInterfaceName().equals(first.getInterfaceName())) {
-                    group.add(current);
-                    iterator.remove();
-                }
-            }
-
-            groupsOfListsOfElement.add(group);
-        }
-        return  groupsOfListsOfElement;
-    }
-
-    /**
-     * Builds a map of RunnerClassAndPackageException to their annotated methods.
-     *
-     * <p>Each group is represented by its first element (because previously grouped by packageName and interfaceName), which provides
-     * the package and interface name used as the key. The value is the list
-     * of annotated elements contained in that group.</p>
-     *
-     * @param groupsOfListsOfElement the grouped elements by package and interface
-     * @return a map where the key is the package/interface pair and the value
-     *         is the list of annotated method elements
-     */
-    private HashMap<RunnerClassAndPackageException, List<Element>> createHashMap(List<List<RunnerEnvironmentException>> groupsOfListsOfElement) {
-        HashMap<RunnerClassAndPackageException, List<Element>> classesAndTheirMethodsRegistry = new HashMap<>();
-
-        for (List<RunnerEnvironmentException> group : groupsOfListsOfElement) {
-            if (group.isEmpty()) continue;
-
-            RunnerEnvironmentException first = group.getFirst();
-
-            RunnerClassAndPackageException key = new RunnerClassAndPackageException(
-                    first.getPackageName(),
-                    first.getInterfaceName()
-            );
-
-            List<Element> elements = group.stream()
-                    .map(RunnerEnvironmentException::getMethodWithValidAnnotation)
-                    .collect(Collectors.toList());
-
-            classesAndTheirMethodsRegistry.put(key, elements);
-        }
-
-        return classesAndTheirMethodsRegistry;
-
+        profile.endRound(roundStart);
+        return false;
     }
 
-
     /**
      * Generates the implementation class source file for an interface
      * annotated with {@link ExceptionRunner}.
@@ -238,15 +166,18 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      * @param packageName      the package where the implementation will be generated
      * @param interfaceName    the name of the annotated interface
      * @param validAnnotations the element annotated  with @ExceptionRunner
+     * @param runnerList       the metadata of the annotated methods
+     * @param componentModel   the component model of the interface, see {@link #getComponentModel(List)}
      * @throws RuntimeException if an error occurs while writing the file
      */
-    private void writePackageImpl(JavaFileObject javaFileObject, String packageName, String interfaceName, List<Element> validAnnotations) {
-        try (Writer writer = javaFileObject.openWriter()) {
+    private void writePackageImpl(JavaFileObject javaFileObject, String packageName, String interfaceName, List<ExecutableElement> validAnnotations,
+                                  List<RunnerMethodTypesException> runnerList, String componentModel) {
+        try (Writer writer = emitter.open(javaFileObject)) {
             writer.write("package " + packageName + ";\n\n");
 
-            writeImportsAndClassImpl(writer, packageName, validAnnotations, interfaceName);
+            writeImportsAndClassImpl(writer, packageName, validAnnotations, interfaceName, componentModel);
 
-            writerRunnerMethodsExceptionsImpl(writer, validAnnotations);
+            writerRunnerMethodsExceptionsImpl(writer, runnerList, packageName, interfaceName, componentModel);
 
             writer.write("}\n");
         } catch (Exception e) {
@@ -260,12 +191,14 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      * The annotation includes:
      * <ul>
      *   <li><b>version</b> – the version of the JAR, retrieved from {@code PROJECT.VERSION}</li>
-     *   <li><b>date</b> – the current generation timestamp, formatted as {@code dd/MM/yyyy HH:mm:ss}</li>
+     *   <li><b>date</b> – the generation timestamp, formatted as {@code dd/MM/yyyy HH:mm:ss},
+     *   fixed when the output must be reproducible (see {@link GenerationDate})</li>
      *   <li><b>packageInfo</b> – the package name, retrieved from {@code PROJECT.PACKAGE}</li>
      * </ul>
      * <p>
      * This method is typically used during code generation to embed metadata
      * about the build and environment directly into the generated source code.
+     * It is rendered once and reused for all the files, see {@link SourceEmitter}.
      * </p>
      *
      * @param writer the {@link Writer} where the annotation will be written
@@ -273,16 +206,8 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      *         an error message is also reported via the annotation processing environment
      */
     private void writeGeneratedAnnotation(Writer writer) {
-        String version = PROJECT.VERSION.getValue();
-        String infoPackage = PROJECT.PACKAGE.getValue();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        String date = LocalDateTime.now().format(formatter);
         try {
-            writer.write("\n@Generated(\n");
-            writer.write("\tversion=  \"" + version + "\"" + ",\n");
-            writer.write("\tdate=  \"" + date + "\"" + ",\n");
-            writer.write("\tpackageInfo=  \"" + infoPackage + "\"" + "\n");
-            writer.write("\t)\n");
+            writer.write(emitter.generatedAnnotation(processingEnv));
         } catch (IOException exception) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of the @Generated annotation " + exception.getCause());
         }
@@ -293,54 +218,80 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      * implementation of an interface annotated with {@link ExceptionRunner}.
      *
      * <p>For each annotated method, this method imports the corresponding
-     * exception class. It also checks that all methods within the same
-     * interface declare the same {@code componentModel}. If the models differ,
-     * a compilation error is reported.</p>
+     * exception class, once and in alphabetical order.</p>
      *
-     * <p>If the component model is {@code spring}, the generated class is
-     * annotated with  org.springframework.stereotype.Component.</p>
+     * <p>The class header depends on the component model:</p>
+     * <ul>
+     *   <li>{@code spring}: the class is annotated with org.springframework.stereotype.Component;</li>
+     *   <li>{@code static}: the class is final, with a private constructor and a static
+     *   {@code INSTANCE} singleton, no framework is needed;</li>
+     *   <li>{@code default}: a plain class, instantiated by the user.</li>
+     * </ul>
      *
      * @param writer           the writer used to output the generated source
      * @param packageName      the package of the generated class
      * @param validAnnotations method to process
      * @param interfaceName    the name of the interface being implemented
+     * @param componentModel   the component model of the interface
      * @throws IOException if an error occurs while writing to the file
      */
-    private void writeImportsAndClassImpl(Writer writer, String packageName, List<Element> validAnnotations, String interfaceName) throws IOException {
-
-        String exceptionNameClass;
-        String componetModel;
+    private void writeImportsAndClassImpl(Writer writer, String packageName, List<ExecutableElement> validAnnotations,
+                                          String interfaceName, String componentModel) throws IOException {
 
-        ExecutableElement methodElement;
         String generatedNameClass = interfaceName + "Impl";
+        Set<String> exceptionNameClasses = new TreeSet<>();
 
-        List<Boolean> componentModelEqualsSpringList = new ArrayList<>();
-
-        writer.write("import org.springframework.stereotype.Component;\n");
+        if (componentModel.equals(SPRING_MODEL)) {
+            writer.write("import org.springframework.stereotype.Component;\n");
+        }
         writer.write("import com.orbis.exception.annotations.Generated;\n");
-        for (Element validAnnotation : validAnnotations) {
-            methodElement = (ExecutableElement) validAnnotation;
-            exceptionNameClass = methodElement.getAnnotation(ExceptionRunner.class).exceptionClass();
-            componetModel = methodElement.getAnnotation(ExceptionRunner.class).componentModel();
-            if (componetModel.equalsIgnoreCase("spring")) {
-                componentModelEqualsSpringList.add(true);
-            } else {
-                componentModelEqualsSpringList.add(false);
+        for (ExecutableElement methodElement : validAnnotations) {
+            exceptionNameClasses.add(methodElement.getAnnotation(ExceptionRunner.class).exceptionClass());
+        }
+
+        for (String exceptionName : exceptionNameClasses) {
+            writer.write("import " + packageName + "." + exceptionName + ";\n");
+        }
+        writer.write("\n");
+
+        writeGeneratedAnnotation(writer);
+        switch (componentModel) {
+            case SPRING_MODEL -> {
+                writer.write("@Component\n");
+                writer.write("public class " + generatedNameClass + " implements " + interfaceName + " {\n\n");
             }
-            writer.write("import " + packageName + "." + exceptionNameClass + ";\n\n");
+            case STATIC_MODEL -> {
+                writer.write("public final class " + generatedNameClass + " implements " + interfaceName + " {\n\n");
+                writer.write("    public static final " + generatedNameClass + " INSTANCE = new " + generatedNameClass + "();\n\n");
+                writer.write("    private " + generatedNameClass + "() {\n");
+                writer.write("    }\n\n");
+            }
+            default -> writer.write("public class " + generatedNameClass + " implements " + interfaceName + " {\n\n");
+        }
+    }
 
-            boolean hasSpring = componentModelEqualsSpringList.stream().allMatch(Boolean::booleanValue);
-            if (!hasSpring) {
+    /**
+     * Returns the component model of an interface, checking that all the methods within the same
+     * interface declare the same {@code componentModel}, among {@code default}, {@code spring}
+     * and {@code static}. If the models differ or are unknown, a compilation error is reported.
+     *
+     * @param validAnnotations the methods annotated with {@link ExceptionRunner} of the interface
+     * @return the component model of the first method, in lower case
+     */
+    private String getComponentModel(List<ExecutableElement> validAnnotations) {
+        String componentModel = validAnnotations.getFirst().getAnnotation(ExceptionRunner.class).componentModel().toLowerCase(Locale.ROOT);
+        for (ExecutableElement methodElement : validAnnotations) {
+            String methodComponentModel = methodElement.getAnnotation(ExceptionRunner.class).componentModel();
+            if (!methodComponentModel.equalsIgnoreCase(componentModel)) {
                 processingEnv.getMessager()
-                        .printMessage(Diagnostic.Kind.ERROR, "All @ExceptionRunner in the same interface, must contains the same componentModel");
-                return;
+                        .printMessage(Diagnostic.Kind.ERROR, "All @ExceptionRunner in the same interface, must contains the same componentModel", methodElement);
+            } else if (!List.of(DEFAULT_MODEL, SPRING_MODEL, STATIC_MODEL).contains(componentModel)) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "Unknown componentModel " + methodComponentModel
+                                + ": use " + DEFAULT_MODEL + ", " + SPRING_MODEL + " or " + STATIC_MODEL, methodElement);
             }
         }
-
-        writer.write("import org.springframework.stereotype.Component;\n");
-        writeGeneratedAnnotation(writer);
-        writer.write("@Component\n");
-        writer.write("public class " + generatedNameClass + " implements " + interfaceName + " {\n\n");
+        return componentModel;
     }
 
     /**
@@ -349,24 +300,322 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      *
      * <p>For each annotated method, this method generates an overriding method
      * that immediately throws the corresponding exception defined in the
-     * {@link ExceptionRunner} annotation.</p>
+     * {@link ExceptionRunner} annotation. With {@link ExceptionRunner#preallocated()}
+     * the method rethrows a shared instance declared as a static field.</p>
      *
-     * @param writer           the writer used to output the generated source
-     * @param validAnnotations method elements to process
+     * <p>With {@link ExceptionRunner#countThrows()} the method increments its throw counter
+     * before throwing.</p>
+     *
+     * <p>With the {@code static} component model, a nested {@code Static} class gets a static
+     * method for each annotated method, forwarding to {@code INSTANCE}. The class is final,
+     * so the calls are monomorphic and can be inlined by the JIT.</p>
+     *
+     * <p>With {@link ExceptionRunner#resultVariant()} and {@link ExceptionRunner#asyncVariant()}
+     * the method also gets static companions returning the failure instead of throwing it.</p>
+     *
+     * @param writer         the writer used to output the generated source
+     * @param runnerList     the metadata of the methods
+     * @param packageName    the package of the generated class
+     * @param interfaceName  the name of the interface being implemented
+     * @param componentModel the component model of the interface
      * @throws IOException if an error occurs while writing to the file
      */
-    private void writerRunnerMethodsExceptionsImpl(Writer writer, List<Element> validAnnotations) throws IOException {
+    private void writerRunnerMethodsExceptionsImpl(Writer writer, List<RunnerMethodTypesException> runnerList, String packageName,
+                                                   String interfaceName, String componentModel) throws IOException {
 
-        List<RunnerMethodTypesException> runnerList = createListForMakeExceptionRunnerMethods(validAnnotations);
+        String generatedNameClass = interfaceName + "Impl";
+
+        for (RunnerMethodTypesException runner : runnerList) {
+            if (runner.getSharedInstanceName() != null) {
+                writeSharedInstance(writer, runner);
+            }
+            if (runner.getAsyncInstanceName() != null && !runner.getAsyncInstanceName().equals(runner.getSharedInstanceName())) {
+                writeAsyncInstance(writer, runner);
+            }
+        }
+        writeThrowCounter(writer, runnerList, packageName, generatedNameClass);
 
         for (RunnerMethodTypesException runner : runnerList) {
             writer.write("\t@Override\n");
             writer.write("    public " + runner.getReturnMethodType() + " " + runner.getMethodName() + "(" + runner.getMethodArguments() + ")"
                     + " {\n");
-            writer.write("        throw new " + runner.getExceptionNameClass() + "(" + runner.getVariableList() + ");\n");
+            if (runner.getThrowCounterIndex() >= 0) {
+                writer.write("        " + THROW_COUNTER + ".increment(" + runner.getThrowCounterIndex() + ");\n");
+            }
+            if (runner.getFlightRecorderParamCount() != null) {
+                writer.write("        com.orbis.exception.runtime.ThrowEvent.emit(" + runner.getExceptionNameClass() + ".class, "
+                        + interfaceName + ".class, \"" + runner.getMethodName() + "\", " + runner.getFlightRecorderParamCount() + ");\n");
+            }
+            if (runner.getSharedInstanceName() == null) {
+                writer.write("        throw new " + runner.getExceptionNameClass() + "(" + runner.getVariableList() + ");\n");
+            } else if (runner.isSharedByMessage()) {
+                writer.write("        throw " + runner.getSharedInstanceName() + ".get(" + runner.getVariableList() + ");\n");
+            } else {
+                writer.write("        throw " + runner.getSharedInstanceName() + ";\n");
+            }
             writer.write("    }\n\n");
+            if (runner.getResultName() != null) {
+                writeResultCompanion(writer, runner, interfaceName + "Result");
+            }
+            if (runner.getAsyncVariant() != null) {
+                writeAsyncCompanion(writer, runner);
+            }
+        }
+
+        if (componentModel.equals(STATIC_MODEL)) {
+            writeStaticForwarders(writer, runnerList, generatedNameClass);
         }
+    }
 
+    /**
+     * Writes the static companion of a method with {@link ExceptionRunner#resultVariant()} enabled,
+     * returning the failure instead of throwing it.
+     *
+     * <pre>
+     * {@code
+     *  public static UserErrorsResult.UserNotFound userNotFoundResult(java.lang.String message) {
+     *      return new UserErrorsResult.UserNotFound(message);
+     *  }
+     * }
+     * </pre>
+     *
+     * @param writer     the writer used to output the generated source
+     * @param runner     the metadata of the method
+     * @param resultType the name of the result type
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeResultCompanion(Writer writer, RunnerMethodTypesException runner, String resultType) throws IOException {
+        String failureType = resultType + "." + runner.getResultName();
+        writer.write("    public static " + failureType + " " + runner.getMethodName() + "Result(" + runner.getMethodArguments() + ") {\n");
+        if (runner.getResultConstantName() != null) {
+            writer.write("        return " + resultType + "." + runner.getResultConstantName() + ";\n");
+        } else {
+            writer.write("        return new " + failureType + "(" + runner.getParameterNames() + ");\n");
+        }
+        writer.write("    }\n\n");
+    }
+
+    /**
+     * Writes the static field holding the cached failure of the asynchronous companion of a method
+     * without parameters: the failed stage with {@code stage}, the exception with {@code future},
+     * because a {@code CompletableFuture} can be altered by its callers with {@code obtrudeValue}.
+     * The exception is the shared instance of a {@link ExceptionRunner#preallocated()} method,
+     * reused as is with {@code future}, otherwise a new immutable one.
+     *
+     * @param writer the writer used to output the generated source
+     * @param runner the metadata of the method
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeAsyncInstance(Writer writer, RunnerMethodTypesException runner) throws IOException {
+        String exception = runner.getSharedInstanceName() != null
+                ? runner.getSharedInstanceName()
+                : runner.getExceptionNameClass() + ".immutable(" + runner.getVariableList() + ")";
+        if (runner.getAsyncVariant().equals(STAGE_VARIANT)) {
+            writer.write("    private static final java.util.concurrent.CompletionStage<Object> " + runner.getAsyncInstanceName() + " =\n");
+            writer.write("            java.util.concurrent.CompletableFuture.failedStage(" + exception + ");\n\n");
+        } else {
+            writer.write("    private static final " + runner.getExceptionNameClass() + " " + runner.getAsyncInstanceName() + " =\n");
+            writer.write("            " + exception + ";\n\n");
+        }
+    }
+
+    /**
+     * Writes the static asynchronous companion of a method with {@link ExceptionRunner#asyncVariant()} enabled,
+     * returning an already failed future or stage instead of throwing.
+     *
+     * <pre>
+     * {@code
+     *  public static <T> java.util.concurrent.CompletableFuture<T> userNotFoundAsync(java.lang.String message) {
+     *      return java.util.concurrent.CompletableFuture.failedFuture(new UserNotFoundException(message));
+     *  }
+     * }
+     * </pre>
+     *
+     * @param writer the writer used to output the generated source
+     * @param runner the metadata of the method
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeAsyncCompanion(Writer writer, RunnerMethodTypesException runner) throws IOException {
+        boolean stage = runner.getAsyncVariant().equals(STAGE_VARIANT);
+        String exception;
+        if (runner.getAsyncInstanceName() != null) {
+            exception = runner.getAsyncInstanceName();
+        } else if (runner.getSharedInstanceName() != null && runner.isSharedByMessage()) {
+            exception = runner.getSharedInstanceName() + ".get(" + runner.getVariableList() + ")";
+        } else {
+            exception = "new " + runner.getExceptionNameClass() + "(" + runner.getVariableList() + ")";
+        }
+
+        if (stage && runner.getAsyncInstanceName() != null) {
+            writer.write("    @SuppressWarnings(\"unchecked\")\n");
+        }
+        writer.write("    public static <T> java.util.concurrent." + (stage ? "CompletionStage" : "CompletableFuture") + "<T> "
+                + runner.getMethodName() + "Async(" + runner.getMethodArguments() + ") {\n");
+        if (stage && runner.getAsyncInstanceName() != null) {
+            writer.write("        return (java.util.concurrent.CompletionStage<T>) (java.util.concurrent.CompletionStage<?>) " + exception + ";\n");
+        } else if (stage) {
+            writer.write("        return java.util.concurrent.CompletableFuture.failedStage(" + exception + ");\n");
+        } else {
+            writer.write("        return java.util.concurrent.CompletableFuture.failedFuture(" + exception + ");\n");
+        }
+        writer.write("    }\n\n");
+    }
+
+    /**
+     * Generates the sealed result type of an interface, with the failures of the methods
+     * with {@link ExceptionRunner#resultVariant()} enabled.
+     *
+     * <p>The type declares a {@code Success} record, with its {@code SUCCESS} constant, and a
+     * record for each failure, whose components are the parameters of the method. A failure
+     * creates its exception only when {@code toException()} or {@code throwIfFailure()} is
+     * called, with the same arguments used by the throwing method. A failure without
+     * parameters is preallocated in a constant.</p>
+     *
+     * @param javaFileObject the target source file to write
+     * @param packageName    the package of the generated type
+     * @param interfaceName  the name of the annotated interface
+     * @param runnerList     the metadata of the methods
+     * @throws RuntimeException if an error occurs while writing the file
+     */
+    private void writeResultType(JavaFileObject javaFileObject, String packageName, String interfaceName,
+                                 List<RunnerMethodTypesException> runnerList) {
+        String resultType = interfaceName + "Result";
+        try (Writer writer = emitter.open(javaFileObject)) {
+            writer.write("package " + packageName + ";\n\n");
+            writer.write("import com.orbis.exception.annotations.Generated;\n");
+            writeGeneratedAnnotation(writer);
+            writer.write("public sealed interface " + resultType + " {\n\n");
+            writer.write("    Success SUCCESS = new Success();\n\n");
+            for (RunnerMethodTypesException runner : runnerList) {
+                if (runner.getResultConstantName() != null) {
+                    writer.write("    " + runner.getResultName() + " " + runner.getResultConstantName() + " = new " + runner.getResultName() + "();\n\n");
+                }
+            }
+            writer.write("    boolean isSuccess();\n\n");
+            writer.write("    /** @return the class of the exception of the failure, or {@code null} on success */\n");
+            writer.write("    Class<? extends RuntimeException> exceptionClass();\n\n");
+            writer.write("    /** @return a new exception for the failure, or {@code null} on success */\n");
+            writer.write("    RuntimeException toException();\n\n");
+            writer.write("    default void throwIfFailure() {\n");
+            writer.write("        if (!isSuccess()) {\n");
+            writer.write("            throw toException();\n");
+            writer.write("        }\n");
+            writer.write("    }\n\n");
+
+            writer.write("    record Success() implements " + resultType + " {\n\n");
+            writeResultMethods(writer, "true", "null", "null");
+            writer.write("    }\n");
+            for (RunnerMethodTypesException runner : runnerList) {
+                if (runner.getResultName() == null) {
+                    continue;
+                }
+                String exceptionNameClass = runner.getExceptionNameClass();
+                writer.write("\n    record " + runner.getResultName() + "(" + runner.getMethodArguments() + ") implements " + resultType + " {\n\n");
+                writeResultMethods(writer, "false", exceptionNameClass + ".class",
+                        "new " + exceptionNameClass + "(" + runner.getVariableList() + ")");
+                writer.write("    }\n");
+            }
+            writer.write("}\n");
+        } catch (Exception e) {
+            throw new RuntimeException("error during the writting " + javaFileObject);
+        }
+    }
+
+    private void writeResultMethods(Writer writer, String success, String exceptionClass, String exception) throws IOException {
+        writer.write("        @Override\n");
+        writer.write("        public boolean isSuccess() {\n");
+        writer.write("            return " + success + ";\n");
+        writer.write("        }\n\n");
+        writer.write("        @Override\n");
+        writer.write("        public Class<? extends RuntimeException> exceptionClass() {\n");
+        writer.write("            return " + exceptionClass + ";\n");
+        writer.write("        }\n\n");
+        writer.write("        @Override\n");
+        writer.write("        public RuntimeException toException() {\n");
+        writer.write("            return " + exception + ";\n");
+        writer.write("        }\n");
+    }
+
+    /**
+     * Writes the static field holding the throw counters of the methods with
+     * {@link ExceptionRunner#countThrows()} enabled, if any.
+     *
+     * @param writer             the writer used to output the generated source
+     * @param runnerList         the metadata of the methods
+     * @param packageName        the package of the generated class
+     * @param generatedNameClass the name of the generated class
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeThrowCounter(Writer writer, List<RunnerMethodTypesException> runnerList, String packageName,
+                                   String generatedNameClass) throws IOException {
+        List<RunnerMethodTypesException> countedRunners = runnerList.stream()
+                .filter(runner -> runner.getThrowCounterIndex() >= 0)
+                .toList();
+        if (countedRunners.isEmpty()) {
+            return;
+        }
+        writer.write("    public static final com.orbis.exception.runtime.ThrowCounter " + THROW_COUNTER
+                + " = new com.orbis.exception.runtime.ThrowCounter(\n");
+        writer.write("            \"" + packageName + "." + generatedNameClass + "\",\n");
+        writer.write("            new String[]{" + countedRunners.stream()
+                .map(runner -> "\"" + runner.getMethodSignature() + "\"")
+                .collect(Collectors.joining(", ")) + "},\n");
+        writer.write("            new String[]{" + countedRunners.stream()
+                .map(runner -> "\"" + packageName + "." + runner.getExceptionNameClass() + "\"")
+                .collect(Collectors.joining(", ")) + "});\n\n");
+    }
+
+    /**
+     * Writes the nested {@code Static} class of the {@code static} component model, with a static
+     * method for each annotated method, forwarding to the {@code INSTANCE} singleton.
+     *
+     * <pre>
+     * {@code
+     *  UserErrorsImpl.Static.userNotFound("User not found");
+     * }
+     * </pre>
+     *
+     * @param writer             the writer used to output the generated source
+     * @param runnerList         the metadata of the methods
+     * @param generatedNameClass the name of the generated class
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeStaticForwarders(Writer writer, List<RunnerMethodTypesException> runnerList, String generatedNameClass) throws IOException {
+        writer.write("    public static final class Static {\n\n");
+        writer.write("        private Static() {\n");
+        writer.write("        }\n\n");
+        for (RunnerMethodTypesException runner : runnerList) {
+            String invocation = generatedNameClass + ".INSTANCE." + runner.getMethodName() + "(" + runner.getParameterNames() + ");\n";
+            writer.write("        public static " + runner.getReturnMethodType() + " " + runner.getMethodName() + "(" + runner.getMethodArguments() + ")"
+                    + " {\n");
+            writer.write("            " + (runner.getReturnMethodType().equals("void") ? "" : "return ") + invocation);
+            writer.write("        }\n\n");
+        }
+        writer.write("    }\n");
+    }
+
+    /**
+     * Writes the static field holding the shared exceptions of a method
+     * with {@link ExceptionRunner#preallocated()} enabled.
+     *
+     * <p>A method without parameters gets a single immutable instance, a method
+     * with only a {@code String} parameter gets a {@code BoundedCache} of immutable
+     * instances keyed by message.</p>
+     *
+     * @param writer the writer used to output the generated source
+     * @param runner the metadata of the method
+     * @throws IOException if an error occurs while writing to the file
+     */
+    private void writeSharedInstance(Writer writer, RunnerMethodTypesException runner) throws IOException {
+        String exceptionNameClass = runner.getExceptionNameClass();
+        if (runner.isSharedByMessage()) {
+            writer.write("    private static final com.orbis.exception.runtime.BoundedCache<java.lang.String, " + exceptionNameClass + "> "
+                    + runner.getSharedInstanceName() + " =\n");
+            writer.write("            new com.orbis.exception.runtime.BoundedCache<>(" + exceptionNameClass + "::immutable);\n\n");
+        } else {
+            writer.write("    private static final " + exceptionNameClass + " " + runner.getSharedInstanceName() + " =\n");
+            writer.write("            " + exceptionNameClass + ".immutable(" + runner.getVariableList() + ");\n\n");
+        }
     }
 
     /**
@@ -380,6 +629,9 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      *   <li>the full method arguments (types and names)</li>
      *   <li>the exception class name declared in {@link ExceptionRunner#exceptionClass()}</li>
      *   <li>the variable list (only parameter names, comma-separated)</li>
+     *   <li>the method signature and, with {@link ExceptionRunner#countThrows()}, the index of its throw counter</li>
+     *   <li>with {@link ExceptionRunner#resultVariant()}, the names of its failure record and constant</li>
+     *   <li>with {@link ExceptionRunner#asyncVariant()}, the kind of its asynchronous companion</li>
      * </ul>
      *
      * <p>Each set of extracted values is stored in a new
@@ -389,21 +641,21 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      * @param validAnnotations the list of method elements annotated with {@link ExceptionRunner}
      * @return a list of {@link RunnerMethodTypesException} containing metadata for code generation
      */
-    private List<RunnerMethodTypesException> createListForMakeExceptionRunnerMethods(List<Element> validAnnotations) {
+    private List<RunnerMethodTypesException> createListForMakeExceptionRunnerMethods(List<ExecutableElement> validAnnotations) {
 
         RunnerMethodTypesException runnerMethodTypesException = new RunnerMethodTypesException();
         List<RunnerMethodTypesException> runnerMethodTypesExceptionList = new ArrayList<>();
 
-        ExecutableElement methodElement;
-
         List<? extends VariableElement> methodParameters;
         List<String> typeParameters;
 
         String exceptionNameClass;
         String variableList;
+        Set<String> sharedInstanceNames = new HashSet<>(Set.of(THROW_COUNTER));
+        int throwCounterIndex = 0;
+        Set<String> resultNames = new HashSet<>(Set.of("Success", "SUCCESS"));
 
-        for (Element validAnnotation : validAnnotations) {
-            methodElement = (ExecutableElement) validAnnotation;
+        for (ExecutableElement methodElement : validAnnotations) {
 
             runnerMethodTypesException.setReturnMethodType(methodElement.getReturnType().toString());
             runnerMethodTypesException.setMethodName(methodElement.getSimpleName().toString());
@@ -419,8 +671,33 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
             variableList = typeParameters.stream()
                     .map(value -> value.split(" ")[1])
                     .collect(Collectors.joining(","));
+            runnerMethodTypesException.setParameterNames(variableList);
+            runnerMethodTypesException.setMethodSignature(methodElement.getSimpleName() + "(" + methodParameters.stream()
+                    .map(parameter -> processingEnv.getTypeUtils().erasure(parameter.asType()).toString())
+                    .collect(Collectors.joining(",")) + ")");
+
+            String message = methodElement.getAnnotation(ExceptionRunner.class).message();
+            if (methodParameters.isEmpty() && !message.isEmpty()) {
+                variableList = toJavaStringLiteral(message);
+            }
 
             runnerMethodTypesException.setVariableList(variableList);
+
+            if (methodElement.getAnnotation(ExceptionRunner.class).preallocated()) {
+                setSharedInstance(runnerMethodTypesException, methodElement, sharedInstanceNames);
+            }
+            if (methodElement.getAnnotation(ExceptionRunner.class).countThrows()) {
+                runnerMethodTypesException.setThrowCounterIndex(throwCounterIndex++);
+            }
+            if (methodElement.getAnnotation(ExceptionRunner.class).resultVariant()) {
+                setResultVariant(runnerMethodTypesException, methodElement, resultNames);
+            }
+            if (methodElement.getAnnotation(ExceptionRunner.class).flightRecorderEvent()) {
+                runnerMethodTypesException.setFlightRecorderParamCount(flightRecorderParamCount(methodElement));
+            }
+            if (!methodElement.getAnnotation(ExceptionRunner.class).asyncVariant().isEmpty()) {
+                setAsyncVariant(runnerMethodTypesException, methodElement, sharedInstanceNames);
+            }
             runnerMethodTypesExceptionList.add(runnerMethodTypesException);
             runnerMethodTypesException = new RunnerMethodTypesException();
         }
@@ -428,6 +705,183 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
         return runnerMethodTypesExceptionList;
     }
 
+    /**
+     * Configures the shared exception of a method with {@link ExceptionRunner#preallocated()} enabled.
+     *
+     * <p>Only methods without parameters, or with a single {@code String} parameter
+     * used as message, can rethrow shared instances. For any other signature
+     * a warning is reported and the method throws a new exception.</p>
+     *
+     * @param runner              the metadata of the method
+     * @param methodElement       the annotated method
+     * @param sharedInstanceNames the static field names already used in the generated class
+     */
+    private void setSharedInstance(RunnerMethodTypesException runner, ExecutableElement methodElement, Set<String> sharedInstanceNames) {
+        List<? extends VariableElement> methodParameters = methodElement.getParameters();
+        boolean sharedByMessage = methodParameters.size() == 1
+                && methodParameters.getFirst().asType().toString().equals("java.lang.String");
+
+        if (!methodParameters.isEmpty() && !sharedByMessage) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.WARNING, "preallocated is ignored: the method must declare no parameters or a single String parameter", methodElement);
+            return;
+        }
+
+        String sharedInstanceName = toConstantName(runner.getMethodName());
+        String candidateName = sharedInstanceName;
+        for (int index = 2; !sharedInstanceNames.add(candidateName); index++) {
+            candidateName = sharedInstanceName + "_" + index;
+        }
+        runner.setSharedInstanceName(candidateName);
+        runner.setSharedByMessage(sharedByMessage);
+    }
+
+    /**
+     * Configures the failure record of a method with {@link ExceptionRunner#resultVariant()} enabled.
+     *
+     * <p>The record is named after the method, e.g. {@code UserNotFound} for {@code userNotFound},
+     * with a numeric suffix for overloaded methods. Generic methods, and methods with a parameter
+     * named like an accessor of the result type, get no result variant and a warning is reported.</p>
+     *
+     * @param runner        the metadata of the method
+     * @param methodElement the annotated method
+     * @param resultNames   the record and constant names already used in the result type
+     */
+    private void setResultVariant(RunnerMethodTypesException runner, ExecutableElement methodElement, Set<String> resultNames) {
+        if (!methodElement.getTypeParameters().isEmpty()) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.WARNING, "resultVariant is ignored: the method must not declare type parameters", methodElement);
+            return;
+        }
+        for (VariableElement parameter : methodElement.getParameters()) {
+            if (RESULT_RESERVED_NAMES.contains(parameter.getSimpleName().toString())) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "resultVariant is ignored: the parameter name "
+                                + parameter.getSimpleName() + " is reserved by the result type", parameter);
+                return;
+            }
+        }
+
+        String methodName = runner.getMethodName();
+        String resultName = Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1);
+        String candidateName = resultName;
+        for (int index = 2; !resultNames.add(candidateName); index++) {
+            candidateName = resultName + index;
+        }
+        runner.setResultName(candidateName);
+
+        if (methodElement.getParameters().isEmpty()) {
+            String constantName = toConstantName(methodName);
+            String candidateConstantName = constantName;
+            for (int index = 2; !resultNames.add(candidateConstantName); index++) {
+                candidateConstantName = constantName + "_" + index;
+            }
+            runner.setResultConstantName(candidateConstantName);
+        }
+    }
+
+    /**
+     * Returns the expression of the number of params of the {@link ExceptionRunner#flightRecorderEvent()}:
+     * the number of parameters of the method, where an array parameter in last position counts for its elements.
+     *
+     * @param methodElement the annotated method
+     * @return a constant, or an expression reading the length of the array parameter
+     */
+    private String flightRecorderParamCount(ExecutableElement methodElement) {
+        List<? extends VariableElement> parameters = methodElement.getParameters();
+        if (parameters.isEmpty() || parameters.get(parameters.size() - 1).asType().getKind() != TypeKind.ARRAY) {
+            return String.valueOf(parameters.size());
+        }
+        String arrayName = parameters.get(parameters.size() - 1).getSimpleName().toString();
+        return (parameters.size() - 1) + " + (" + arrayName + " == null ? 0 : " + arrayName + ".length)";
+    }
+
+    /**
+     * Configures the asynchronous companion of a method with {@link ExceptionRunner#asyncVariant()} set.
+     *
+     * <p>An unknown kind is a compilation error, a generic method gets no companion and a warning
+     * is reported. A method without parameters gets a static field with its cached failure, or
+     * reuses its shared instance.</p>
+     *
+     * @param runner              the metadata of the method
+     * @param methodElement       the annotated method
+     * @param sharedInstanceNames the static field names already used in the generated class
+     */
+    private void setAsyncVariant(RunnerMethodTypesException runner, ExecutableElement methodElement, Set<String> sharedInstanceNames) {
+        String asyncVariant = methodElement.getAnnotation(ExceptionRunner.class).asyncVariant().toLowerCase(Locale.ROOT);
+        if (!asyncVariant.equals(FUTURE_VARIANT) && !asyncVariant.equals(STAGE_VARIANT)) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "Unknown asyncVariant " + asyncVariant
+                            + ": use " + FUTURE_VARIANT + " or " + STAGE_VARIANT, methodElement);
+            return;
+        }
+        if (!methodElement.getTypeParameters().isEmpty()) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.WARNING, "asyncVariant is ignored: the method must not declare type parameters", methodElement);
+            return;
+        }
+        runner.setAsyncVariant(asyncVariant);
+
+        if (methodElement.getParameters().isEmpty()) {
+            if (asyncVariant.equals(FUTURE_VARIANT) && runner.getSharedInstanceName() != null) {
+                runner.setAsyncInstanceName(runner.getSharedInstanceName());
+                return;
+            }
+            String asyncInstanceName = toConstantName(runner.getMethodName()) + (asyncVariant.equals(STAGE_VARIANT) ? "_STAGE" : "_FAILURE");
+            String candidateName = asyncInstanceName;
+            for (int index = 2; !sharedInstanceNames.add(candidateName); index++) {
+                candidateName = asyncInstanceName + "_" + index;
+            }
+            runner.setAsyncInstanceName(candidateName);
+        }
+    }
+
+    /**
+     * Converts a camel case method name into a constant name,
+     * e.g. {@code userNotFound} into {@code USER_NOT_FOUND}.
+     *
+     * @param methodName the method name to convert
+     * @return the constant name
+     */
+    private String toConstantName(String methodName) {
+        StringBuilder constantName = new StringBuilder();
+        for (char character : methodName.toCharArray()) {
+            if (Character.isUpperCase(character) && !constantName.isEmpty()) {
+                constantName.append('_');
+            }
+            constantName.append(Character.toUpperCase(character));
+        }
+        return constantName.toString();
+    }
+
+    /**
+     * Converts a value into a Java string literal, escaping quotes,
+     * backslashes and control characters.
+     *
+     * @param value the value to convert
+     * @return the quoted literal
+     */
+    private String toJavaStringLiteral(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        literal.append(character);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
     /**
      * Builds a list of method parameter signatures from the given elements.
      *
@@ -453,7 +907,8 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
      * Prints diagnostic information at compile time about the annotated element.
      *
      * <p>This method logs the method name, the enclosing interface name,
-     * and the package name to the compiler's messager with {@link Diagnostic.Kind#NOTE} level.
+     * and the package name to the compiler's messager with {@link Diagnostic.Kind#NOTE} level,
+     * only with the {@code verbose} verbosity, see {@link ProcessorProfile}.
      * It is mainly used for debugging and tracking during annotation processing.</p>
      *
      * @param methodName    the name of the annotated method
@@ -465,12 +920,9 @@ public class ExceptionRunnerProcessor extends AbstractProcessor {
             String interfaceName,
             String packageName
     ) {
-        processingEnv.getMessager()
-                .printMessage(Diagnostic.Kind.NOTE, "Annotated method: " + methodName);
-        processingEnv
-                .getMessager().printMessage(Diagnostic.Kind.NOTE, "Interface's name: " + interfaceName);
-        processingEnv.getMessager()
-                .printMessage(Diagnostic.Kind.NOTE, "Package: " + packageName);
+        profile.note("Annotated method: " + methodName);
+        profile.note("Interface's name: " + interfaceName);
+        profile.note("Package: " + packageName);
 
     }
 }
@@ -0,0 +1,65 @@
+package com.orbis.exception;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Resolves the date written in the {@code @Generated} annotation of the generated sources.
+ *
+ * <p>By default the date is the current time, so every build produces different sources.
+ * For reproducible builds the date is fixed:</p>
+ * <ul>
+ *   <li>if the {@code SOURCE_DATE_EPOCH} environment variable is set, the date is
+ *   that epoch second in UTC;</li>
+ *   <li>otherwise, if the processor option {@code -Aorbis.reproducible=true} is set,
+ *   the date is the epoch, {@code 01/01/1970 00:00:00}.</li>
+ * </ul>
+ */
+final class GenerationDate {
+
+    /**
+     * Processor option enabling the reproducible output.
+     */
+    static final String REPRODUCIBLE_OPTION = "orbis.reproducible";
+
+    /**
+     * Environment variable defined by the reproducible builds specification.
+     */
+    static final String SOURCE_DATE_EPOCH = "SOURCE_DATE_EPOCH";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private GenerationDate() {
+    }
+
+    /**
+     * Returns the date to write in the {@code @Generated} annotation,
+     * formatted as {@code dd/MM/yyyy HH:mm:ss}.
+     *
+     * @param processingEnv the environment of the processor, holding the processor options
+     * @return the formatted generation date
+     */
+    static String format(ProcessingEnvironment processingEnv) {
+        String sourceDateEpoch = System.getenv(SOURCE_DATE_EPOCH);
+        if (sourceDateEpoch != null && !sourceDateEpoch.isBlank()) {
+            try {
+                return format(Long.parseLong(sourceDateEpoch.trim()));
+            } catch (NumberFormatException exception) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, SOURCE_DATE_EPOCH + " is not a number of seconds: " + sourceDateEpoch);
+            }
+        }
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(REPRODUCIBLE_OPTION))) {
+            return format(0L);
+        }
+        return LocalDateTime.now().format(FORMATTER);
+    }
+
+    private static String format(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC).format(FORMATTER);
+    }
+}
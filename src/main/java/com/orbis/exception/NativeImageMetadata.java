@@ -0,0 +1,143 @@
+package com.orbis.exception;
+
+import com.orbis.exception.runtime.ExceptionIndex;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the GraalVM reachability metadata of the generated classes, so native images
+ * and Spring AOT builds need no manual configuration or tracing agent runs.
+ *
+ * <p>Each annotated interface gets its own directory under {@code META-INF/native-image},
+ * one for the exceptions, with the sealed base and the codec, and one for the {@code *Impl},
+ * with its {@code Static} class and the result type. Each registry and factory table of a package
+ * gets a directory named after it, and the {@link ExceptionIndex} is registered as a resource:</p>
+ * <pre>
+ * META-INF/native-image/com.orbis.exception/demo.UserErrors/exceptions/reflect-config.json
+ * META-INF/native-image/com.orbis.exception/demo.UserErrors/exceptions/serialization-config.json
+ * META-INF/native-image/com.orbis.exception/demo.UserErrors/impl/reflect-config.json
+ * META-INF/native-image/com.orbis.exception/demo.ExceptionCodeRegistry/reflect-config.json
+ * META-INF/native-image/com.orbis.exception/demo.ExceptionFactories/reflect-config.json
+ * META-INF/native-image/com.orbis.exception/exceptions.index/resource-config.json
+ * </pre>
+ *
+ * <p>The files are written through the {@code Filer} with the same originating elements as the
+ * classes they describe, so they are regenerated together with them.</p>
+ */
+final class NativeImageMetadata {
+
+    private static final String ROOT = "META-INF/native-image/com.orbis.exception/";
+
+    private NativeImageMetadata() {
+    }
+
+    /**
+     * Writes the metadata of the exceptions generated from an interface: every exception is
+     * registered for reflection and for serialization, the other classes only for reflection.
+     *
+     * @param processingEnv        the environment of the processor
+     * @param emitter              the emitter of the processor
+     * @param interfaceElement     the annotated interface
+     * @param exceptionClassesName the qualified names of the generated exceptions
+     * @param otherClassesName     the binary names of the other generated classes: the sealed base and the codec
+     */
+    static void writeExceptions(ProcessingEnvironment processingEnv, SourceEmitter emitter, TypeElement interfaceElement, List<String> exceptionClassesName,
+                                List<String> otherClassesName) {
+        String directory = ROOT + interfaceElement.getQualifiedName() + "/exceptions/";
+        List<String> classesName = new ArrayList<>(otherClassesName);
+        classesName.addAll(exceptionClassesName);
+        write(processingEnv, emitter, directory + "reflect-config.json", reflectConfig(classesName), interfaceElement);
+        write(processingEnv, emitter, directory + "serialization-config.json", serializationConfig(exceptionClassesName), interfaceElement);
+    }
+
+    /**
+     * Writes the metadata of the {@code *Impl} generated from an interface, registered for
+     * reflection so it can be instantiated by the dependency injection containers, with the
+     * other classes generated by {@link ExceptionRunnerProcessor}.
+     *
+     * @param processingEnv    the environment of the processor
+     * @param emitter          the emitter of the processor
+     * @param interfaceElement the annotated interface
+     * @param implClassesName  the binary names of the generated {@code *Impl}, its {@code Static} class and the result type
+     */
+    static void writeImpl(ProcessingEnvironment processingEnv, SourceEmitter emitter, TypeElement interfaceElement, List<String> implClassesName) {
+        write(processingEnv, emitter, ROOT + interfaceElement.getQualifiedName() + "/impl/reflect-config.json",
+                reflectConfig(implClassesName), interfaceElement);
+    }
+
+    /**
+     * Writes the metadata of a class aggregating the interfaces of a package, the
+     * {@code ExceptionCodeRegistry} or the {@code ExceptionFactories}, registered for reflection.
+     *
+     * @param processingEnv       the environment of the processor
+     * @param emitter             the emitter of the processor
+     * @param className           the qualified name of the generated class
+     * @param originatingElements the annotated interfaces of the package
+     */
+    static void writePackageClass(ProcessingEnvironment processingEnv, SourceEmitter emitter, String className, TypeElement... originatingElements) {
+        write(processingEnv, emitter, ROOT + className + "/reflect-config.json", reflectConfig(List.of(className)), originatingElements);
+    }
+
+    /**
+     * Writes the metadata of the {@link ExceptionIndex}, included as a resource so
+     * {@link ExceptionIndex#load(ClassLoader)} finds it in a native image.
+     *
+     * @param processingEnv       the environment of the processor
+     * @param emitter             the emitter of the processor
+     * @param originatingElements all the annotated interfaces
+     */
+    static void writeIndex(ProcessingEnvironment processingEnv, SourceEmitter emitter, TypeElement... originatingElements) {
+        String resourceConfig = "{\n"
+                + "  \"resources\": {\n"
+                + "    \"includes\": [\n"
+                + "      {\n"
+                + "        \"pattern\": \"\\\\Q" + ExceptionIndex.RESOURCE + "\\\\E\"\n"
+                + "      }\n"
+                + "    ]\n"
+                + "  }\n"
+                + "}\n";
+        write(processingEnv, emitter, ROOT + "exceptions.index/resource-config.json", resourceConfig, originatingElements);
+    }
+
+    private static String reflectConfig(List<String> classNames) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int index = 0; index < classNames.size(); index++) {
+            json.append("  {\n");
+            json.append("    \"name\": \"").append(classNames.get(index)).append("\",\n");
+            json.append("    \"allDeclaredConstructors\": true,\n");
+            json.append("    \"allPublicMethods\": true,\n");
+            json.append("    \"allDeclaredFields\": true\n");
+            json.append(index < classNames.size() - 1 ? "  },\n" : "  }\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    private static String serializationConfig(List<String> classNames) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int index = 0; index < classNames.size(); index++) {
+            json.append("  {\n");
+            json.append("    \"name\": \"").append(classNames.get(index)).append("\"\n");
+            json.append(index < classNames.size() - 1 ? "  },\n" : "  }\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    private static void write(ProcessingEnvironment processingEnv, SourceEmitter emitter, String path, String content, TypeElement... originatingElements) {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path, originatingElements);
+            try (Writer writer = emitter.open(resource)) {
+                writer.write(content);
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of " + path + ": " + exception.getMessage(), originatingElements[0]);
+        }
+    }
+}
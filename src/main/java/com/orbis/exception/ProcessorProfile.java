@@ -0,0 +1,262 @@
+package com.orbis.exception;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Verbosity and self-profiling of a processor, configured with two processor options.
+ *
+ * <p>{@code -Aorbis.verbosity} sets the notes printed by the processor:</p>
+ * <ul>
+ *   <li>{@code verbose}, the default: the notes of each annotated interface and method;</li>
+ *   <li>{@code summary}: one note per processor at the end of the compilation, with the number
+ *   of generated files;</li>
+ *   <li>{@code quiet}: no notes, warnings and errors are always reported.</li>
+ * </ul>
+ *
+ * <p>{@code -Aorbis.profile=<directory>} enables the profiling: the processor times its phases and
+ * counts the processed elements and the generated files, then writes a JSON report in the directory,
+ * named after the processor, at the end of the compilation:</p>
+ * <pre>
+ * {@code
+ * {
+ *   "processor": "ExceptionMakerProcessor",
+ *   "rounds": 2,
+ *   "interfaces": 4,
+ *   "methods": 0,
+ *   "files": 12,
+ *   "bytes": 48213,
+ *   "collectionNanos": 1204711,
+ *   "groupingNanos": 3310542,
+ *   "renderingNanos": 5127009,
+ *   "writingNanos": 2048113
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The phases are the collection of the annotated elements in the {@link RoundModel}, the grouping,
+ * that is the validation and the modelling done by the processor outside the other phases, the rendering
+ * of the files in the {@link SourceEmitter} and their writing through the {@code Filer}. The report is
+ * written outside the {@code Filer}, so it is not packaged with the classes and does not affect the
+ * incremental compilation. With the profiling disabled the phases are not timed.</p>
+ */
+final class ProcessorProfile {
+
+    /**
+     * Processor option setting the verbosity.
+     */
+    static final String VERBOSITY_OPTION = "orbis.verbosity";
+
+    /**
+     * Processor option enabling the profiling, with the directory of the reports.
+     */
+    static final String PROFILE_OPTION = "orbis.profile";
+
+    /**
+     * Notes printed by the processors.
+     */
+    enum Verbosity {
+        QUIET, SUMMARY, VERBOSE
+    }
+
+    /**
+     * Timed phases of a processor.
+     */
+    enum Phase {
+        COLLECTION, GROUPING, RENDERING, WRITING
+    }
+
+    private final ProcessingEnvironment processingEnv;
+    private final String processorName;
+    private final Verbosity verbosity;
+    private final Path reportDirectory;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long roundPhaseNanos;
+    private int rounds;
+    private int interfaces;
+    private int methods;
+    private int files;
+    private long bytes;
+
+    private ProcessorProfile(ProcessingEnvironment processingEnv, String processorName, Verbosity verbosity, Path reportDirectory) {
+        this.processingEnv = processingEnv;
+        this.processorName = processorName;
+        this.verbosity = verbosity;
+        this.reportDirectory = reportDirectory;
+    }
+
+    /**
+     * Creates the profile of a processor from the processor options.
+     * An unknown verbosity is reported with a warning and the default is used.
+     *
+     * @param processingEnv  the environment of the processor, holding the processor options
+     * @param processorClass the class of the processor, naming its report
+     * @return the profile of the processor
+     */
+    static ProcessorProfile of(ProcessingEnvironment processingEnv, Class<?> processorClass) {
+        Verbosity verbosity = Verbosity.VERBOSE;
+        String verbosityOption = processingEnv.getOptions().get(VERBOSITY_OPTION);
+        if (verbosityOption != null) {
+            try {
+                verbosity = Verbosity.valueOf(verbosityOption.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "Unknown " + VERBOSITY_OPTION + " " + verbosityOption + ": use quiet, summary or verbose");
+            }
+        }
+        String profileOption = processingEnv.getOptions().get(PROFILE_OPTION);
+        Path reportDirectory = profileOption == null || profileOption.isBlank() ? null : Path.of(profileOption.trim());
+        return new ProcessorProfile(processingEnv, processorClass.getSimpleName(), verbosity, reportDirectory);
+    }
+
+    /** @return true if the notes of each element must be printed */
+    boolean isVerbose() {
+        return verbosity == Verbosity.VERBOSE;
+    }
+
+    /**
+     * Prints a note about an element, only with the {@code verbose} verbosity.
+     *
+     * @param message the note
+     */
+    void note(String message) {
+        if (isVerbose()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message);
+        }
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return the start time, {@code 0} if the profiling is disabled
+     */
+    long start() {
+        return reportDirectory == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Stops timing a phase.
+     *
+     * @param phase the timed phase
+     * @param start the time returned by {@link #start()}
+     */
+    void stop(Phase phase, long start) {
+        if (reportDirectory != null) {
+            phaseNanos[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Starts a round of the processor: the time of the round not spent in the other
+     * phases is counted as {@link Phase#GROUPING} by {@link #endRound(long)}.
+     *
+     * @return the start time, {@code 0} if the profiling is disabled
+     */
+    long startRound() {
+        rounds++;
+        roundPhaseNanos = totalNanos();
+        return start();
+    }
+
+    /**
+     * Ends a round of the processor.
+     *
+     * @param start the time returned by {@link #startRound()}
+     */
+    void endRound(long start) {
+        if (reportDirectory != null) {
+            phaseNanos[Phase.GROUPING.ordinal()] += System.nanoTime() - start - (totalNanos() - roundPhaseNanos);
+        }
+    }
+
+    /**
+     * Counts the elements processed in a round.
+     *
+     * @param interfaces the number of processed interfaces
+     * @param methods    the number of processed methods
+     */
+    void countElements(int interfaces, int methods) {
+        this.interfaces += interfaces;
+        this.methods += methods;
+    }
+
+    /**
+     * Counts a generated file.
+     *
+     * @param content the content of the file, measured in UTF-8 bytes only if the profiling is enabled
+     */
+    void countFile(CharSequence content) {
+        files++;
+        if (reportDirectory != null) {
+            bytes += utf8Length(content);
+        }
+    }
+
+    /**
+     * Ends the processing: prints the summary note and writes the report if the profiling is enabled.
+     * A report that cannot be written is reported with a warning, it never fails the compilation.
+     */
+    void finish() {
+        if (verbosity != Verbosity.QUIET && files > 0) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.NOTE, processorName + ": " + files + " files generated from " + interfaces + " interfaces");
+        }
+        if (reportDirectory == null) {
+            return;
+        }
+        Path report = reportDirectory.resolve(processorName + ".json");
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(report, toJson(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.WARNING, "Error during the writting of the profile " + report + ": " + exception.getMessage());
+        }
+    }
+
+    private String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"processor\": \"").append(processorName).append("\",\n");
+        json.append("  \"rounds\": ").append(rounds).append(",\n");
+        json.append("  \"interfaces\": ").append(interfaces).append(",\n");
+        json.append("  \"methods\": ").append(methods).append(",\n");
+        json.append("  \"files\": ").append(files).append(",\n");
+        json.append("  \"bytes\": ").append(bytes);
+        for (Phase phase : Phase.values()) {
+            json.append(",\n  \"").append(phase.name().toLowerCase(Locale.ROOT)).append("Nanos\": ").append(phaseNanos[phase.ordinal()]);
+        }
+        return json.append("\n}\n").toString();
+    }
+
+    private long totalNanos() {
+        long total = 0;
+        for (long nanos : phaseNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    private static long utf8Length(CharSequence content) {
+        long length = 0;
+        for (int index = 0; index < content.length(); index++) {
+            char character = content.charAt(index);
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && index + 1 < content.length()
+                    && Character.isLowSurrogate(content.charAt(index + 1))) {
+                length += 4;
+                index++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,99 @@
+package com.orbis.exception;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.exception.annotations.ExceptionRunner;
+import com.orbis.type.InterfaceModelException;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import java.util.*;
+
+/**
+ * Index of the annotated interfaces of a processing round, shared by
+ * {@link ExceptionMakerProcessor} and {@link ExceptionRunnerProcessor}.
+ *
+ * <p>The index is built once per round in a single linear pass: every interface is mapped
+ * to its {@link ExceptionMaker} annotation and to its {@link ExceptionRunner} methods, in
+ * declaration order. The interfaces are sorted by package and interface name, so the
+ * generated files do not depend on the iteration order of the round elements.</p>
+ */
+final class RoundModel {
+
+    /**
+     * Models already built, by round. The compiler passes the same {@link RoundEnvironment}
+     * to every processor of a round, so the second processor reuses the model of the first.
+     */
+    private static final Map<RoundEnvironment, RoundModel> MODELS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<InterfaceModelException> interfaces;
+
+    private RoundModel(List<InterfaceModelException> interfaces) {
+        this.interfaces = interfaces;
+    }
+
+    /**
+     * Returns the model of the round, building it if no other processor did.
+     *
+     * @param roundEnvironment environment of the current round
+     * @param processingEnv    environment of the processor
+     * @return the model of the round
+     */
+    static RoundModel of(RoundEnvironment roundEnvironment, ProcessingEnvironment processingEnv) {
+        return MODELS.computeIfAbsent(roundEnvironment, round -> build(round, processingEnv));
+    }
+
+    /**
+     * Indexes the annotated interfaces of the round.
+     *
+     * <p>Interfaces annotated with {@link ExceptionMaker} and enclosing interfaces of methods annotated
+     * with {@link ExceptionRunner} are collected in one pass over the annotated elements. The
+     * {@link ExceptionRunner} methods of each interface are then taken with one pass over its members,
+     * which gives them in declaration order without sorting.</p>
+     */
+    private static RoundModel build(RoundEnvironment roundEnvironment, ProcessingEnvironment processingEnv) {
+        Map<TypeElement, InterfaceModelException> interfacesByElement = new LinkedHashMap<>();
+
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(ExceptionMaker.class)) {
+            if (element.getKind() != ElementKind.INTERFACE)
+                continue;
+            TypeElement interfaceElement = (TypeElement) element;
+            interfacesByElement.computeIfAbsent(interfaceElement, key -> newInterfaceModel(key, processingEnv))
+                    .setExceptionMaker(interfaceElement.getAnnotation(ExceptionMaker.class));
+        }
+
+        Set<TypeElement> runnerInterfaces = new HashSet<>();
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(ExceptionRunner.class)) {
+            if (element.getKind() == ElementKind.METHOD && element.getEnclosingElement() instanceof TypeElement interfaceElement
+                    && runnerInterfaces.add(interfaceElement)) {
+                InterfaceModelException interfaceModel = interfacesByElement.computeIfAbsent(interfaceElement, key -> newInterfaceModel(key, processingEnv));
+                for (Element member : interfaceElement.getEnclosedElements()) {
+                    if (member.getKind() == ElementKind.METHOD && member.getAnnotation(ExceptionRunner.class) != null) {
+                        interfaceModel.addRunnerMethod((ExecutableElement) member);
+                    }
+                }
+            }
+        }
+
+        List<InterfaceModelException> interfaces = new ArrayList<>(interfacesByElement.values());
+        interfaces.sort(Comparator.comparing(InterfaceModelException::getPackageName)
+                .thenComparing(InterfaceModelException::getInterfaceName));
+        return new RoundModel(Collections.unmodifiableList(interfaces));
+    }
+
+    private static InterfaceModelException newInterfaceModel(TypeElement interfaceElement, ProcessingEnvironment processingEnv) {
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(interfaceElement)
+                .getQualifiedName()
+                .toString();
+        return new InterfaceModelException(interfaceElement, packageName);
+    }
+
+    /** @return all the annotated interfaces of the round, sorted by package and interface name */
+    List<InterfaceModelException> getInterfaces() {
+        return interfaces;
+    }
+}
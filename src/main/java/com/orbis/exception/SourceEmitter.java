@@ -0,0 +1,174 @@
+package com.orbis.exception;
+
+import com.orbis.exception.info.PROJECT;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Buffered {@link Writer} used by the processors to emit the generated files.
+ *
+ * <p>The code generation writes many small fragments: instead of going through the
+ * {@code Writer} of the {@code Filer} for each of them, the fragments are appended to a
+ * single {@link StringBuilder}, kept and reused by the processor for all its files.
+ * When the emitter is closed the builder is copied to the file in large chunks, through
+ * a reused array, so each generated file costs a few writes and no allocation once the
+ * builder has grown. A file that cannot be written is reported as an error.</p>
+ * <pre>
+ * {@code
+ *  try (Writer writer = emitter.open(javaFileObject)) {
+ *      writer.write("package " + packageName + ";\n\n");
+ *      ...
+ *  }
+ * }
+ * </pre>
+ *
+ * <p>The {@code @Generated} annotation is the same for all the files of a compilation,
+ * so it is rendered once, see {@link #generatedAnnotation(ProcessingEnvironment)}.</p>
+ *
+ * <p>The emitter times the rendering and the writing of each file and counts them in the
+ * {@link ProcessorProfile} of its processor.</p>
+ *
+ * <p>An emitter is not thread-safe and writes one file at a time, like the processors.</p>
+ */
+final class SourceEmitter extends Writer {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+    private final char[] chunk = new char[INITIAL_CAPACITY];
+    private final ProcessingEnvironment processingEnv;
+    private final ProcessorProfile profile;
+    private FileObject target;
+    private boolean written;
+    private long renderingStart;
+    private String generatedAnnotation;
+
+    /**
+     * Creates the emitter of a processor.
+     *
+     * @param processingEnv the environment of the processor, reporting the files that cannot be written
+     * @param profile       the profile of the processor, counting the generated files
+     */
+    SourceEmitter(ProcessingEnvironment processingEnv, ProcessorProfile profile) {
+        this.processingEnv = processingEnv;
+        this.profile = profile;
+    }
+
+    /**
+     * Starts a new file, discarding the content of the previous one.
+     *
+     * @param target the file written when the emitter is closed
+     * @return this emitter
+     * @throws IllegalStateException if the previous file has not been closed
+     */
+    Writer open(FileObject target) {
+        if (this.target != null) {
+            throw new IllegalStateException("The generation of " + this.target.getName() + " is not completed");
+        }
+        this.target = target;
+        written = false;
+        buffer.setLength(0);
+        renderingStart = profile.start();
+        return this;
+    }
+
+    /**
+     * Returns the {@code @Generated} annotation of the generated sources, rendered on the first call:
+     * <pre>
+     * {@code
+     *
+     * @Generated(
+     * 	version=  "1.0.2",
+     * 	date=  "01/01/1970 00:00:00",
+     * 	packageInfo=  "com.orbis.exception.annotations"
+     * 	)
+     * }
+     * </pre>
+     *
+     * @param processingEnv the environment of the processor, holding the processor options
+     * @return the annotation, starting and ending with a new line
+     */
+    String generatedAnnotation(ProcessingEnvironment processingEnv) {
+        if (generatedAnnotation == null) {
+            generatedAnnotation = "\n@Generated(\n"
+                    + "\tversion=  \"" + PROJECT.VERSION.getValue() + "\",\n"
+                    + "\tdate=  \"" + GenerationDate.format(processingEnv) + "\",\n"
+                    + "\tpackageInfo=  \"" + PROJECT.PACKAGE.getValue() + "\"\n"
+                    + "\t)\n";
+        }
+        return generatedAnnotation;
+    }
+
+    /**
+     * Tells whether the last file has been written, so the files describing it are
+     * written only when it exists.
+     *
+     * @return {@code true} if the last closed file has been written to the {@code Filer}
+     */
+    boolean isWritten() {
+        return written;
+    }
+
+    @Override
+    public void write(int character) {
+        buffer.append((char) character);
+    }
+
+    @Override
+    public void write(char[] characters, int offset, int length) {
+        buffer.append(characters, offset, length);
+    }
+
+    @Override
+    public void write(String string) {
+        buffer.append(string);
+    }
+
+    @Override
+    public void write(String string, int offset, int length) {
+        buffer.append(string, offset, offset + length);
+    }
+
+    @Override
+    public Writer append(CharSequence characters) {
+        buffer.append(characters);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        // The content is written once, when the emitter is closed
+    }
+
+    /**
+     * Writes the buffered content to the file, without copying it to a {@code String}.
+     * A file that cannot be written is reported as an error, with the cause.
+     */
+    @Override
+    public void close() {
+        if (target == null) {
+            return;
+        }
+        FileObject file = target;
+        target = null;
+        profile.stop(ProcessorProfile.Phase.RENDERING, renderingStart);
+        long writingStart = profile.start();
+        try (Writer writer = file.openWriter()) {
+            for (int start = 0; start < buffer.length(); start += chunk.length) {
+                int end = Math.min(start + chunk.length, buffer.length());
+                buffer.getChars(start, end, chunk, 0);
+                writer.write(chunk, 0, end - start);
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error during the writting of " + file.getName() + ": " + exception.getMessage());
+            return;
+        }
+        written = true;
+        profile.stop(ProcessorProfile.Phase.WRITING, writingStart);
+        profile.countFile(buffer);
+    }
+}
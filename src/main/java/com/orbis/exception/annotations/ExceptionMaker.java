@@ -19,8 +19,12 @@ import java.lang.annotation.Target;
  * to one generated class responsible for handling the specified exception.</p>
  *
  * <p><b>Note:</b>
- * Retention policy: {@link java.lang.annotation.RetentionPolicy#SOURCE}
- * (discarded after compilation).<br>
+ * Retention policy: {@link java.lang.annotation.RetentionPolicy#CLASS}
+ * (recorded in the class file, not visible at runtime). Incremental compilers,
+ * such as Gradle, hand the unchanged interfaces to the aggregating
+ * {@code ExceptionRegistryProcessor} as class files: the annotation must be
+ * kept there, or their exceptions would be dropped from the registries,
+ * the factory tables and the exception index.<br>
  * Target: {@link java.lang.annotation.ElementType#TYPE}
  * (applicable to interfaces only).</p>
  *
@@ -28,7 +32,7 @@ import java.lang.annotation.Target;
  * @see java.lang.annotation.Target
  * @see ExceptionRunner
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target(ElementType.TYPE)
 public @interface ExceptionMaker {
 
@@ -83,5 +87,308 @@ public @interface ExceptionMaker {
      * @return true if custom constructor parameter order and count should be enabled
      */
     boolean enableCustomParameterOrder() default false;
-}
 
+    /**
+     * Generates all the exception classes of the interface without stack trace.
+     * <p>
+     * The generated constructors call
+     * {@code RuntimeException(message, cause, enableSuppression, writableStackTrace)}
+     * with suppression and writable stack trace disabled, so {@code fillInStackTrace}
+     * is never executed. The cause is left uninitialized, so {@code initCause} still works.
+     * Use it for exceptions thrown for control flow, where the stack trace is never read.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     stackless = true
+     * )
+     * }
+     * </pre>
+     *
+     * @return true if every generated exception must skip the stack trace capture
+     */
+    boolean stackless() default false;
+
+    /**
+     * Defines the exception class names, among {@link #classesName()},
+     * to generate without stack trace.
+     * <p>
+     * Same behavior of {@link #stackless()}, but applied only to the listed classes.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException", "InvalidRequestException"},
+     *     stacklessClassesName = {"UserNotFoundException"}
+     * )
+     * }
+     * </pre>
+     *
+     * @return the list of exception class names generated without stack trace
+     */
+    String[] stacklessClassesName() default {};
+
+    /**
+     * Captures the stack trace only in one instance out of {@code stackTraceOneIn}, on average.
+     * <p>
+     * The other instances are created without stack trace, as with {@link #stackless()}, and all
+     * of them have suppression disabled.
+     * It can be combined with {@link #stackTracePerWindow()}, and it applies to the classes in
+     * {@link #sampledClassesName()} or, if empty, to all the classes of the interface.
+     * The sampling decision is lock-free and runs on every construction.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     stackTraceOneIn = 100
+     * )
+     * }
+     * </pre>
+     *
+     * @return the sampling rate of the stack traces, {@code 0} to capture them in all the instances
+     */
+    int stackTraceOneIn() default 0;
+
+    /**
+     * Captures the stack trace only in the first {@code stackTracePerWindow} instances
+     * of each window of {@link #stackTraceWindowMillis()}.
+     * <p>
+     * The other instances of the window are created without stack trace. Same scope of {@link #stackTraceOneIn()}.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     stackTracePerWindow = 10,
+     *     stackTraceWindowMillis = 60_000
+     * )
+     * }
+     * </pre>
+     *
+     * @return the maximum number of stack traces in a window, {@code 0} for no limit
+     */
+    int stackTracePerWindow() default 0;
+
+    /**
+     * Length of the window of {@link #stackTracePerWindow()}, in milliseconds.
+     *
+     * @return the length of the window
+     */
+    long stackTraceWindowMillis() default 1000;
+
+    /**
+     * Defines the exception class names, among {@link #classesName()}, to which the stack trace
+     * sampling policy applies. If empty, it applies to all the classes.
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException", "InvalidRequestException"},
+     *     stackTraceOneIn = 100,
+     *     sampledClassesName = {"UserNotFoundException"}
+     * )
+     * }
+     * </pre>
+     *
+     * @return the list of exception class names with sampled stack traces
+     */
+    String[] sampledClassesName() default {};
+
+    /**
+     * Captures only the top {@code stackTraceDepth} frames of the stack trace.
+     * <p>
+     * The frames are captured with {@link StackWalker} and kept in raw form: they are converted to
+     * {@link StackTraceElement} only when {@code getStackTrace()} or {@code printStackTrace()} is called,
+     * so the exceptions whose stack trace is never read retain a few frames instead of the whole stack.
+     * It applies to all the classes of the interface that capture the stack trace,
+     * also to the instances chosen by {@link #stackTraceOneIn()} and {@link #stackTracePerWindow()}.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     stackTraceDepth = 8,
+     *     stackTraceExcludedFrames = {"org.springframework.", "org.apache.catalina.", "jdk.proxy"}
+     * )
+     * }
+     * </pre>
+     *
+     * <p>Logging frameworks read the frames with {@code getStackTrace()}. The frames of an exception
+     * printed by {@code printStackTrace()} of another exception, as cause or suppressed,
+     * appear only if its {@code getStackTrace()} was already called.</p>
+     *
+     * @return the maximum number of captured frames, {@code 0} for the full stack trace
+     */
+    int stackTraceDepth() default 0;
+
+    /**
+     * Defines the class name prefixes of the frames to skip when capturing the stack trace,
+     * like framework or proxy frames. Setting it enables the compact stack trace of {@link #stackTraceDepth()}.
+     *
+     * @return the class name prefixes of the excluded frames
+     */
+    String[] stackTraceExcludedFrames() default {};
+
+    /**
+     * Formats the message of the generated exceptions only when it is read.
+     * <p>
+     * The message passed to the {@code (String message, Object[] params)} constructor
+     * is a template: {@code {}} is replaced by the next param and {@code {n}} by the param
+     * at index {@code n}. The message is rendered on the first {@code getMessage()} call and then
+     * kept, so an exception thrown and caught without reading the message costs nothing for formatting.
+     * The parsed templates are cached once per exception class.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     lazyMessageFormatting = true
+     * )
+     * }
+     *
+     * {@code
+     *  Example: new UserNotFoundException("User {} not found", new Object[]{userId});
+     * }
+     * </pre>
+     *
+     * <p>Not available with {@link #enableCustomParameterOrder()}, whose constructor has no message.</p>
+     *
+     * @return true if the message must be rendered from a template on the first read
+     */
+    boolean lazyMessageFormatting() default false;
+
+    /**
+     * Assigns a stable numeric error code to each generated exception.
+     * <p>
+     * Each exception gets a {@code public static final int CODE} constant, usable as
+     * {@code case} label, and a {@code code()} accessor. The codes are declared with
+     * {@link #codes()} or, if not declared, derived from the qualified name of the exception,
+     * so they do not change between builds. A {@code ExceptionCodeRegistry} class is also generated
+     * in the package, mapping each code to its exception with an array-indexed lookup.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     errorCodes = true
+     * )
+     * }
+     *
+     * {@code
+     *  Example: switch (exception.code()) { case UserNotFoundException.CODE -> 404; default -> 500; }
+     * }
+     * </pre>
+     *
+     * @return true if the generated exceptions must have an error code
+     */
+    boolean errorCodes() default false;
+
+    /**
+     * Declares the error codes of the generated exceptions, in the same order of {@link #classesName()}.
+     * <p>
+     * Declaring the codes enables {@link #errorCodes()}. The codes must be unique in the package.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException", "InvalidRequestException"},
+     *     codes = {1001, 1002}
+     * )
+     * }
+     * </pre>
+     *
+     * @return the error codes of the exceptions
+     */
+    int[] codes() default {};
+
+    /**
+     * Generates a sealed abstract base class of the exceptions of the interface.
+     * <p>
+     * The base extends {@code RuntimeException} and permits exactly the classes of {@link #classesName()},
+     * which extend it and become final. The exceptions of the interface can then be handled with an
+     * exhaustive {@code switch}, checked by the compiler when a class is added or removed.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException", "InvalidRequestException"},
+     *     sealedBaseName = "UserException"
+     * )
+     * }
+     *
+     * {@code
+     *  Example: int status = switch (userException) {
+     *      case UserNotFoundException notFound -> 404;
+     *      case InvalidRequestException invalid -> 400;
+     *  };
+     * }
+     * </pre>
+     *
+     * @return the name of the sealed base class, empty for exceptions extending {@code RuntimeException}
+     */
+    String sealedBaseName() default "";
+
+    /**
+     * Generates a binary codec of the exceptions of the interface, to send them between services.
+     * <p>
+     * The {@code <Interface>Codec} class encodes an exception into a {@code ByteBuffer} and decodes it
+     * back to the same class, with its message and params, typed params included. The format is compact
+     * and versioned, see {@code com.orbis.exception.runtime.BinaryCodec}, and uses no reflection.
+     * The stack trace and the cause are not encoded.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     binaryCodec = true
+     * )
+     * }
+     *
+     * {@code
+     *  Example: byte[] bytes = UserErrorsCodec.encode(exception);
+     *           RuntimeException decoded = UserErrorsCodec.decode(bytes);
+     * }
+     * </pre>
+     *
+     * @return true if a binary codec of the exceptions must be generated
+     */
+    boolean binaryCodec() default false;
+
+    /**
+     * Adds the exceptions of the interface to the {@code ExceptionFactories} generated in the package,
+     * to create them by name without reflection.
+     * <p>
+     * The table is indexed by a minimal perfect hash of the names in {@link #classesName()}, computed at
+     * compile time, see {@code com.orbis.exception.runtime.PerfectHash}, and holds a constructor lambda
+     * for each exception: it works in native images with no reflection metadata.
+     * </p>
+     *
+     * <pre>
+     * {@code
+     * @ExceptionMaker(
+     *     classesName = {"UserNotFoundException"},
+     *     factoryTable = true
+     * )
+     * }
+     *
+     * {@code
+     *  Example: RuntimeException exception = ExceptionFactories.create("UserNotFoundException", "User {} not found", id);
+     * }
+     * </pre>
+     *
+     * @return true if the exceptions must be added to the factory table of the package
+     */
+    boolean factoryTable() default false;
+}
@@ -19,8 +19,11 @@ import java.lang.annotation.Target;
  * the target component model used for code generation.</p>
  *
  * <p><b>Note:</b>
- * Retention policy: {@link java.lang.annotation.RetentionPolicy#SOURCE}
- * (discarded after compilation).<br>
+ * Retention policy: {@link java.lang.annotation.RetentionPolicy#CLASS}
+ * (recorded in the class file, not visible at runtime). Incremental compilers,
+ * such as Gradle, hand the unchanged interfaces to the aggregating
+ * {@code ExceptionRegistryProcessor} as class files: the annotation must be
+ * kept there, or their methods would be dropped from the exception index.<br>
  * Target: {@link java.lang.annotation.ElementType#METHOD}
  * (applicable to methods only).</p>
  *
@@ -28,7 +31,7 @@ import java.lang.annotation.Target;
  * @see java.lang.annotation.Target
  * @see ExceptionMaker
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target(ElementType.METHOD)
 public @interface ExceptionRunner {
 
@@ -50,5 +53,125 @@ public @interface ExceptionRunner {
      * @return the component model type
      */
     String componentModel() default "default";
-}
 
+    /**
+     * Defines a fixed message for the thrown exception.
+     *
+     * <p>It is used only when the annotated method declares no parameters,
+     * otherwise the method parameters are passed to the exception constructor.</p>
+     * <pre>
+     * {@code
+     * @ExceptionRunner(exceptionClass = "UserNotFoundException", message = "User not found")
+     * void userNotFound();
+     * }
+     * </pre>
+     *
+     * @return the fixed message of the exception
+     */
+    String message() default "";
+
+    /**
+     * Enables the rethrow of shared, preallocated exception instances.
+     *
+     * <p>The generated method does not create a new exception on every call:</p>
+     * <ul>
+     *   <li>if the method declares no parameters, a single instance built with
+     *   {@link #message()} is created once and always rethrown;</li>
+     *   <li>if the method declares only a {@code String} parameter, the instances are
+     *   kept in a bounded cache keyed by that message.</li>
+     * </ul>
+     *
+     * <p>Shared instances are immutable: they have no stack trace, no suppression
+     * and no cause. With any other method signature the option is ignored and a
+     * warning is reported.</p>
+     *
+     * @return true if the generated method must rethrow shared instances
+     */
+    boolean preallocated() default false;
+
+    /**
+     * Counts the throws of the generated method.
+     *
+     * <p>The generated {@code *Impl} gets a public static {@code THROW_COUNTER}, a
+     * {@code com.orbis.exception.runtime.ThrowCounter} with a {@code LongAdder} for each
+     * counted method, incremented before the exception is thrown. The counts by method and by
+     * exception, also summed over all the generated classes, can be read at any time without locking.</p>
+     * <pre>
+     * {@code
+     * @ExceptionRunner(exceptionClass = "UserNotFoundException", countThrows = true)
+     * void userNotFound(String message);
+     * }
+     * </pre>
+     *
+     * @return true if the throws of the method must be counted
+     */
+    boolean countThrows() default false;
+
+    /**
+     * Emits a Java Flight Recorder event before the generated method throws.
+     *
+     * <p>The event, {@code com.orbis.exception.runtime.ThrowEvent} named {@code com.orbis.exception.Throw},
+     * carries the exception class, the interface, the method and the number of params. It is checked
+     * with {@code isEnabled()} first, so with no running recording the cost is a single check.</p>
+     * <pre>
+     * {@code
+     * @ExceptionRunner(exceptionClass = "UserNotFoundException", flightRecorderEvent = true)
+     * void userNotFound(String message);
+     * }
+     * </pre>
+     *
+     * @return true if the method must emit a flight recorder event for each throw
+     */
+    boolean flightRecorderEvent() default false;
+
+    /**
+     * Generates a non-throwing companion of the method, returning the failure as a value.
+     *
+     * <p>The package gets a sealed {@code <Interface>Result} type, with a {@code Success} record and
+     * a record for each method with this option, carrying its parameters. The {@code *Impl} gets a
+     * static {@code <method>Result(...)} method returning the failure: hot loops can branch on it and
+     * create the exception only when needed, with {@code toException()} or {@code throwIfFailure()}.
+     * A method without parameters returns a single preallocated failure.</p>
+     * <pre>
+     * {@code
+     * @ExceptionRunner(exceptionClass = "UserNotFoundException", resultVariant = true)
+     * void userNotFound(String message);
+     *
+     * UserErrorsResult result = user == null ? UserErrorsImpl.userNotFoundResult(id) : UserErrorsResult.SUCCESS;
+     * }
+     * </pre>
+     *
+     * <p>Generic methods, and methods with a parameter named like an accessor of the result type,
+     * get no companion and a warning is reported.</p>
+     *
+     * @return true if a non-throwing companion of the method must be generated
+     */
+    boolean resultVariant() default false;
+
+    /**
+     * Generates an asynchronous companion of the method, returning the failure as an already
+     * failed future instead of throwing it.
+     *
+     * <p>The {@code *Impl} gets a static {@code <method>Async(...)} method:</p>
+     * <ul>
+     *   <li>{@code future}: it returns a failed {@code CompletableFuture<T>};</li>
+     *   <li>{@code stage}: it returns a failed {@code CompletionStage<T>}, that cannot be completed
+     *   by the callers. A method without parameters always returns the same cached stage.</li>
+     * </ul>
+     * <pre>
+     * {@code
+     * @ExceptionRunner(exceptionClass = "UserNotFoundException", asyncVariant = "future")
+     * void userNotFound(String message);
+     *
+     * return user == null ? UserErrorsImpl.userNotFoundAsync(id) : CompletableFuture.completedFuture(user);
+     * }
+     * </pre>
+     *
+     * <p>A method without parameters fails with a single immutable exception, with no stack trace,
+     * created once like the {@link #preallocated()} ones. Generic methods get no companion and a
+     * warning is reported.</p>
+     *
+     * @return {@code future}, {@code stage}, or empty for no asynchronous companion
+     */
+    String asyncVariant() default "";
+}
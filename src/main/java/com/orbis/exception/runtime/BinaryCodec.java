@@ -0,0 +1,301 @@
+package com.orbis.exception.runtime;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary format of the generated exceptions, used by the generated {@code *Codec} classes.
+ *
+ * <p>An encoded exception is:</p>
+ * <pre>
+ * version   1 byte, {@link #FORMAT_VERSION}
+ * type id   4 bytes, the hash code of the qualified name of the exception
+ * body      the message and the params, written by the exception itself
+ * </pre>
+ *
+ * <p>The values are tagged with one byte, the integers are written as zigzag varints and
+ * the strings as UTF-8 prefixed by their length, so small values take one or two bytes.
+ * The supported values are {@code null}, {@code String}, the boxed primitives, {@code byte[]},
+ * {@code Object[]} and {@code List} of supported values: no reflection and no class names
+ * are involved, unlike Java serialization. The stack trace is not encoded, a decoded exception
+ * is created like a new one.</p>
+ */
+public final class BinaryCodec {
+
+    /**
+     * Version of the format, written first: a decoder rejects the versions it does not know.
+     */
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte SHORT = 8;
+    private static final byte BYTE = 9;
+    private static final byte CHARACTER = 10;
+    private static final byte BYTES = 11;
+    private static final byte ARRAY = 12;
+    private static final byte LIST = 13;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Writes the version of the format and the type of the exception.
+     *
+     * @param buffer the target buffer
+     * @param typeId the hash code of the qualified name of the exception
+     */
+    public static void writeHeader(ByteBuffer buffer, int typeId) {
+        buffer.put(FORMAT_VERSION);
+        buffer.putInt(typeId);
+    }
+
+    /**
+     * Reads the version of the format and the type of the exception.
+     *
+     * @param buffer the source buffer
+     * @return the hash code of the qualified name of the exception
+     * @throws IllegalArgumentException if the version is not supported
+     */
+    public static int readHeader(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        }
+        return buffer.getInt();
+    }
+
+    /**
+     * Encodes into a new array, growing the buffer until the encoding fits.
+     *
+     * @param encoder writes the encoding into the given buffer
+     * @return the encoding
+     */
+    public static byte[] toByteArray(Consumer<ByteBuffer> encoder) {
+        for (int capacity = INITIAL_CAPACITY; ; capacity *= 2) {
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            try {
+                encoder.accept(buffer);
+            } catch (BufferOverflowException exception) {
+                continue;
+            }
+            byte[] bytes = new byte[buffer.position()];
+            buffer.flip().get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Writes a value and its tag.
+     *
+     * @param buffer the target buffer
+     * @param value  the value to write
+     * @throws IllegalArgumentException if the type of the value is not supported
+     */
+    public static void writeValue(ByteBuffer buffer, Object value) {
+        switch (value) {
+            case null -> buffer.put(NULL);
+            case String string -> {
+                buffer.put(STRING);
+                writeString(buffer, string);
+            }
+            case Integer integer -> {
+                buffer.put(INTEGER);
+                writeVarLong(buffer, integer);
+            }
+            case Long longValue -> {
+                buffer.put(LONG);
+                writeVarLong(buffer, longValue);
+            }
+            case Boolean booleanValue -> buffer.put(booleanValue ? TRUE : FALSE);
+            case Double doubleValue -> buffer.put(DOUBLE).putDouble(doubleValue);
+            case Float floatValue -> buffer.put(FLOAT).putFloat(floatValue);
+            case Short shortValue -> {
+                buffer.put(SHORT);
+                writeVarLong(buffer, shortValue);
+            }
+            case Byte byteValue -> buffer.put(BYTE).put(byteValue);
+            case Character character -> buffer.put(CHARACTER).putChar(character);
+            case byte[] bytes -> {
+                buffer.put(BYTES);
+                writeLength(buffer, bytes.length);
+                buffer.put(bytes);
+            }
+            case Object[] array -> {
+                buffer.put(ARRAY);
+                writeLength(buffer, array.length);
+                for (Object element : array) {
+                    writeValue(buffer, element);
+                }
+            }
+            case List<?> list -> {
+                buffer.put(LIST);
+                writeLength(buffer, list.size());
+                for (Object element : list) {
+                    writeValue(buffer, element);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported value of type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a value written by {@link #writeValue(ByteBuffer, Object)}.
+     *
+     * @param buffer the source buffer
+     * @return the value, a {@code List} is read as an {@code ArrayList}
+     * @throws IllegalArgumentException if the tag is unknown
+     */
+    public static Object readValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(buffer);
+            case INTEGER -> (int) readVarLong(buffer);
+            case LONG -> readVarLong(buffer);
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case DOUBLE -> buffer.getDouble();
+            case FLOAT -> buffer.getFloat();
+            case SHORT -> (short) readVarLong(buffer);
+            case BYTE -> buffer.get();
+            case CHARACTER -> buffer.getChar();
+            case BYTES -> {
+                byte[] bytes = new byte[readLength(buffer)];
+                buffer.get(bytes);
+                yield bytes;
+            }
+            case ARRAY -> {
+                Object[] array = new Object[readLength(buffer)];
+                for (int index = 0; index < array.length; index++) {
+                    array[index] = readValue(buffer);
+                }
+                yield array;
+            }
+            case LIST -> {
+                int size = readLength(buffer);
+                List<Object> list = new ArrayList<>(size);
+                for (int index = 0; index < size; index++) {
+                    list.add(readValue(buffer));
+                }
+                yield list;
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+        };
+    }
+
+    /**
+     * Writes a string, or {@code null}, as UTF-8 prefixed by its length.
+     *
+     * @param buffer the target buffer
+     * @param string the string to write
+     */
+    public static void writeString(ByteBuffer buffer, String string) {
+        if (string == null) {
+            writeVarLong(buffer, -1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(ByteBuffer, String)}.
+     *
+     * @param buffer the source buffer
+     * @return the string, or {@code null}
+     */
+    public static String readString(ByteBuffer buffer) {
+        long length = readVarLong(buffer);
+        if (length < 0) {
+            return null;
+        }
+        int checkedLength = checkLength(buffer, length);
+        if (!buffer.hasArray()) {
+            byte[] bytes = new byte[checkedLength];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), checkedLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + checkedLength);
+        return string;
+    }
+
+    /**
+     * Writes a non-negative integer, such as an index.
+     *
+     * @param buffer the target buffer
+     * @param value  the value to write
+     */
+    public static void writeIndex(ByteBuffer buffer, int value) {
+        writeVarLong(buffer, value);
+    }
+
+    /**
+     * Reads a non-negative integer written by {@link #writeIndex(ByteBuffer, int)}.
+     *
+     * @param buffer the source buffer
+     * @return the value
+     * @throws IllegalArgumentException if the value is not a non-negative {@code int}
+     */
+    public static int readIndex(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid index " + value);
+        }
+        return (int) value;
+    }
+
+    private static void writeLength(ByteBuffer buffer, int length) {
+        writeVarLong(buffer, length);
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        return checkLength(buffer, readVarLong(buffer));
+    }
+
+    /**
+     * Rejects the lengths that cannot be read from the buffer, so a corrupted
+     * input cannot allocate a huge array.
+     */
+    private static int checkLength(ByteBuffer buffer, long length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length);
+        }
+        return (int) length;
+    }
+
+    private static void writeVarLong(ByteBuffer buffer, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte current = buffer.get();
+            zigzag |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,77 @@
+package com.orbis.exception.runtime;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache with a maximum number of entries, used by the generated code.
+ *
+ * <p>Values are created with the given factory the first time a key is requested.
+ * When the cache is full, new values are still created but no longer stored,
+ * so the memory used by the cache never grows past {@code maximumSize} entries.
+ * {@code null} keys are never cached.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public final class BoundedCache<K, V> {
+
+    /**
+     * Maximum number of entries used by the generated code.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final ConcurrentHashMap<K, V> values;
+    private final int maximumSize;
+    private final Function<? super K, ? extends V> factory;
+
+    /**
+     * Creates a cache holding at most {@link #DEFAULT_MAXIMUM_SIZE} entries.
+     *
+     * @param factory the function creating the value of a missing key
+     */
+    public BoundedCache(Function<? super K, ? extends V> factory) {
+        this(DEFAULT_MAXIMUM_SIZE, factory);
+    }
+
+    /**
+     * Creates a cache holding at most {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param factory     the function creating the value of a missing key
+     */
+    public BoundedCache(int maximumSize, Function<? super K, ? extends V> factory) {
+        this.values = new ConcurrentHashMap<>(Math.min(maximumSize, 64));
+        this.maximumSize = maximumSize;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the value of the key, creating it if it is not cached.
+     *
+     * @param key the key to look up
+     * @return the cached value, or a new one if the cache is full
+     */
+    public V get(K key) {
+        if (key == null) {
+            return factory.apply(null);
+        }
+        V value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = factory.apply(key);
+        if (values.size() < maximumSize) {
+            V previous = values.putIfAbsent(key, value);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return value;
+    }
+
+    /** @return the number of cached entries */
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,65 @@
+package com.orbis.exception.runtime;
+
+/**
+ * Open addressing hash index from error code to ordinal, used by the generated
+ * {@code ExceptionCodeRegistry} classes.
+ *
+ * <p>The slots are computed at compile time by the annotation processor, so at runtime
+ * a lookup is an array access plus, on collision, a few linear probes: no boxing,
+ * no hashing of strings and no reflection.</p>
+ */
+public final class CodeIndex {
+
+    private CodeIndex() {
+    }
+
+    /**
+     * Builds the slots of the index: a table with a power of two length, at least twice
+     * the number of codes, holding in each used slot the ordinal of the code plus one.
+     *
+     * @param codes the codes, by ordinal
+     * @return the slots of the index
+     * @throws IllegalArgumentException if a code is repeated
+     */
+    public static int[] buildSlots(int[] codes) {
+        int length = Integer.highestOneBit(Math.max(codes.length, 1) * 2 - 1) << 1;
+        int[] slots = new int[length];
+        for (int ordinal = 0; ordinal < codes.length; ordinal++) {
+            int slot = hash(codes[ordinal]) & (length - 1);
+            while (slots[slot] != 0) {
+                if (codes[slots[slot] - 1] == codes[ordinal]) {
+                    throw new IllegalArgumentException("Duplicated code " + codes[ordinal]);
+                }
+                slot = (slot + 1) & (length - 1);
+            }
+            slots[slot] = ordinal + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the ordinal of a code.
+     *
+     * @param slots the slots built by {@link #buildSlots(int[])}
+     * @param codes the codes, by ordinal
+     * @param code  the code to look up
+     * @return the ordinal of the code, or {@code -1} if the code is unknown
+     */
+    public static int indexOf(int[] slots, int[] codes, int code) {
+        int mask = slots.length - 1;
+        int slot = hash(code) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (codes[entry - 1] == code) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(int code) {
+        int hash = code * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,19 @@
+package com.orbis.exception.runtime;
+
+/**
+ * Implemented by the generated exceptions having an error code, so a handler can
+ * dispatch on {@link #code()} without knowing the exception type.
+ *
+ * <pre>
+ * {@code
+ *  if (exception instanceof CodedException coded) {
+ *      String name = ExceptionCodeRegistry.nameOf(coded.code());
+ *  }
+ * }
+ * </pre>
+ */
+public interface CodedException {
+
+    /** @return the error code of the exception */
+    int code();
+}
@@ -0,0 +1,90 @@
+package com.orbis.exception.runtime;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Stack trace of a generated exception, limited to the top frames and kept in the raw
+ * form returned by {@link StackWalker} until it is read.
+ *
+ * <p>The exceptions generated with {@code stackTraceDepth} or {@code stackTraceExcludedFrames}
+ * capture it in {@code fillInStackTrace()} instead of the full JVM stack trace. The frames
+ * are converted to {@link StackTraceElement} only when {@code getStackTrace()} or
+ * {@code printStackTrace()} is called: exceptions caught without reading the stack trace
+ * never pay for the conversion, and the walk stops after the captured frames.</p>
+ */
+public final class CompactStackTrace {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final StackWalker.StackFrame[] frames;
+
+    private CompactStackTrace(StackWalker.StackFrame[] frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * Captures the stack trace of the caller, skipping the frames creating the exception.
+     *
+     * @param depth          the maximum number of frames, {@code 0} if not limited
+     * @param excludedFrames the class name prefixes of the frames to skip, e.g. {@code "org.springframework."}
+     * @return the captured stack trace
+     */
+    public static CompactStackTrace capture(int depth, String[] excludedFrames) {
+        return new CompactStackTrace(WALKER.walk(stream -> {
+            Iterator<StackWalker.StackFrame> iterator = stream.iterator();
+            StackWalker.StackFrame[] frames = new StackWalker.StackFrame[depth > 0 ? depth : 32];
+            int size = 0;
+            boolean construction = true;
+            while ((depth <= 0 || size < depth) && iterator.hasNext()) {
+                StackWalker.StackFrame frame = iterator.next();
+                construction = construction && isConstructionFrame(frame);
+                if (construction || isExcluded(frame, excludedFrames)) {
+                    continue;
+                }
+                if (size == frames.length) {
+                    frames = Arrays.copyOf(frames, size * 2);
+                }
+                frames[size++] = frame;
+            }
+            return size == frames.length ? frames : Arrays.copyOf(frames, size);
+        }));
+    }
+
+    /**
+     * Checks if a frame belongs to the creation of the exception: this class, or a constructor
+     * or {@code fillInStackTrace} of a {@link Throwable}.
+     */
+    private static boolean isConstructionFrame(StackWalker.StackFrame frame) {
+        Class<?> declaringClass = frame.getDeclaringClass();
+        return declaringClass == CompactStackTrace.class
+                || (Throwable.class.isAssignableFrom(declaringClass)
+                && (frame.getMethodName().equals("<init>") || frame.getMethodName().equals("fillInStackTrace")));
+    }
+
+    private static boolean isExcluded(StackWalker.StackFrame frame, String[] excludedFrames) {
+        String className = frame.getClassName();
+        for (String excludedFrame : excludedFrames) {
+            if (className.startsWith(excludedFrame)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return the number of captured frames */
+    public int size() {
+        return frames.length;
+    }
+
+    /**
+     * Converts the captured frames.
+     *
+     * @return a new array with the captured frames
+     */
+    public StackTraceElement[] toStackTraceElements() {
+        return Arrays.stream(frames)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new);
+    }
+}
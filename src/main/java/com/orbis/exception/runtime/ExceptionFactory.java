@@ -0,0 +1,19 @@
+package com.orbis.exception.runtime;
+
+/**
+ * Creates a generated exception, referenced by the generated {@code ExceptionFactories} classes
+ * as a constructor lambda, so exceptions can be created by name without reflection.
+ */
+@FunctionalInterface
+public interface ExceptionFactory {
+
+    /**
+     * Creates the exception.
+     *
+     * @param message the message of the exception, ignored by the exceptions generated with
+     *                {@code enableCustomParameterOrder}, that only have params
+     * @param params  the params of the exception
+     * @return the new exception
+     */
+    RuntimeException create(String message, Object[] params);
+}
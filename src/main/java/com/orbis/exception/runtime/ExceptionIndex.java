@@ -0,0 +1,181 @@
+package com.orbis.exception.runtime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Index of the generated exceptions, written at compile time in {@value #RESOURCE} of each jar,
+ * so the exceptions can be discovered at runtime without scanning the classpath.
+ *
+ * <p>The resource is a UTF-8 text file, with a header and one line per exception, the fields
+ * separated by tabs:</p>
+ * <pre>
+ * # orbis-exception-index 1
+ * demo	UserNotFoundException	UserErrors	UserErrorsImpl.userNotFound,UserErrorsImpl.userLocked
+ * demo	InvalidRequestException	UserErrors
+ * </pre>
+ *
+ * <p>The fields are the package, the exception, the interface declaring it and the {@code *Impl}
+ * methods throwing it, all in the same package. {@link #load(ClassLoader)} reads the resources of
+ * all the jars in one pass; the lines are parsed and merged on the first lookup. When two jars
+ * index the same exception, the first one in the class path wins, like {@link ServiceLoader}.</p>
+ */
+public final class ExceptionIndex {
+
+    /**
+     * Location of the index in each jar.
+     */
+    public static final String RESOURCE = "META-INF/orbis/exceptions.index";
+
+    /**
+     * First line of the index, with the version of its format.
+     */
+    public static final String HEADER = "# orbis-exception-index 1";
+
+    /**
+     * An indexed exception.
+     *
+     * @param packageName   the package of the exception, of its interface and of the {@code *Impl}
+     * @param simpleName    the simple name of the exception
+     * @param interfaceName the simple name of the interface declaring the exception
+     * @param implMethods   the {@code *Impl} methods throwing the exception, as {@code Impl.method}
+     */
+    public record Entry(String packageName, String simpleName, String interfaceName, List<String> implMethods) {
+
+        /** @return the qualified name of the exception */
+        public String qualifiedName() {
+            return qualify(simpleName);
+        }
+
+        /** @return the qualified name of the interface declaring the exception */
+        public String interfaceQualifiedName() {
+            return qualify(interfaceName);
+        }
+
+        private String qualify(String name) {
+            return packageName.isEmpty() ? name : packageName + "." + name;
+        }
+    }
+
+    /**
+     * The index of the class loader of this class, loaded on first use.
+     */
+    private static final class DefaultIndex {
+        private static final ExceptionIndex INSTANCE = load(ExceptionIndex.class.getClassLoader());
+    }
+
+    private final List<String> lines;
+    private Map<String, Entry> entries;
+
+    private ExceptionIndex(List<String> lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Returns the index of the class loader of this library, loaded once.
+     *
+     * @return the index
+     * @throws UncheckedIOException if a resource cannot be read
+     */
+    public static ExceptionIndex getDefault() {
+        return DefaultIndex.INSTANCE;
+    }
+
+    /**
+     * Reads the indexes of all the jars visible to a class loader.
+     *
+     * @param classLoader the class loader
+     * @return the index, merged on the first lookup
+     * @throws UncheckedIOException if a resource cannot be read
+     */
+    public static ExceptionIndex load(ClassLoader classLoader) {
+        List<String> lines = new ArrayList<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String header = reader.readLine();
+                    if (!HEADER.equals(header)) {
+                        throw new IllegalArgumentException("Unsupported exception index " + resource + ": " + header);
+                    }
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            lines.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Error during the reading of " + RESOURCE, exception);
+        }
+        return new ExceptionIndex(lines);
+    }
+
+    /**
+     * Formats the line of an exception, see {@link ExceptionIndex}.
+     *
+     * @param packageName   the package of the exception
+     * @param simpleName    the simple name of the exception
+     * @param interfaceName the simple name of the interface declaring the exception
+     * @param implMethods   the {@code *Impl} methods throwing the exception, as {@code Impl.method}
+     * @return the line, without line separator
+     */
+    public static String formatLine(String packageName, String simpleName, String interfaceName, Collection<String> implMethods) {
+        String line = packageName + "\t" + simpleName + "\t" + interfaceName;
+        return implMethods.isEmpty() ? line : line + "\t" + String.join(",", implMethods);
+    }
+
+    /** @return all the indexed exceptions, in class path order */
+    public Collection<Entry> entries() {
+        return merged().values();
+    }
+
+    /**
+     * Returns an indexed exception.
+     *
+     * @param qualifiedName the qualified name of the exception
+     * @return the exception, or {@code null} if it is not indexed
+     */
+    public Entry get(String qualifiedName) {
+        return merged().get(qualifiedName);
+    }
+
+    /**
+     * Returns the exceptions declared by an interface.
+     *
+     * @param interfaceQualifiedName the qualified name of the interface
+     * @return the exceptions of the interface, empty if it is not indexed
+     */
+    public List<Entry> ofInterface(String interfaceQualifiedName) {
+        return merged().values().stream()
+                .filter(entry -> entry.interfaceQualifiedName().equals(interfaceQualifiedName))
+                .toList();
+    }
+
+    private synchronized Map<String, Entry> merged() {
+        if (entries == null) {
+            Map<String, Entry> merging = new LinkedHashMap<>();
+            for (String line : lines) {
+                Entry entry = parse(line);
+                merging.putIfAbsent(entry.qualifiedName(), entry);
+            }
+            entries = Collections.unmodifiableMap(merging);
+        }
+        return entries;
+    }
+
+    private static Entry parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length < 3 || fields.length > 4 || fields[1].isEmpty() || fields[2].isEmpty()) {
+            throw new IllegalArgumentException("Malformed line of " + RESOURCE + ": " + line);
+        }
+        List<String> implMethods = fields.length == 4 && !fields[3].isEmpty() ? List.of(fields[3].split(",")) : List.of();
+        return new Entry(fields[0], fields[1], fields[2], implMethods);
+    }
+}
@@ -0,0 +1,350 @@
+package com.orbis.exception.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the JSON values of the problem details rendered by the generated {@code writeTo} methods.
+ *
+ * <p>The values are written directly to an {@link Appendable} or, as UTF-8, to a {@link ByteBuffer}:
+ * strings are escaped character by character and integers are written digit by digit, with no
+ * intermediate {@code String}. Only {@code float} and {@code double} values, and params of types
+ * other than {@code null}, {@code CharSequence}, {@code Character}, {@code Boolean}, {@code Number},
+ * {@code Object[]} and {@code List}, rendered with {@code toString()}, allocate.</p>
+ */
+public final class JsonWriter {
+
+    /**
+     * The member of the params, after the {@code detail} member.
+     */
+    public static final String PARAMS_MEMBER = ",\"params\":";
+
+    private static final byte[] PARAMS_MEMBER_UTF8 = PARAMS_MEMBER.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_UTF8 = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TRUE_UTF8 = "true".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FALSE_UTF8 = "false".getBytes(StandardCharsets.UTF_8);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private JsonWriter() {
+    }
+
+    /**
+     * Returns the constant beginning of the problem details of an exception class, up to the
+     * {@code detail} member, used by the generated classes to pre-encode it.
+     *
+     * @param qualifiedName the qualified name of the exception, written as {@code type}
+     * @param simpleName    the simple name of the exception, written as {@code title}
+     * @param code          the error code of the exception, {@code null} if it has no code
+     * @return the beginning of the JSON object
+     */
+    public static String problemPrefix(String qualifiedName, String simpleName, Integer code) {
+        return "{\"type\":\"" + qualifiedName + "\",\"title\":\"" + simpleName + "\""
+                + (code == null ? "" : ",\"code\":" + code) + ",\"detail\":";
+    }
+
+    /**
+     * Writes the params member, after the {@code detail} member.
+     *
+     * @param buffer the target buffer
+     */
+    public static void putParamsMember(ByteBuffer buffer) {
+        buffer.put(PARAMS_MEMBER_UTF8);
+    }
+
+    /**
+     * Writes a value.
+     *
+     * @param out   the target
+     * @param value the value, {@code null} included
+     * @throws IOException if the target fails
+     */
+    public static void appendValue(Appendable out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.append("null");
+            case CharSequence string -> appendString(out, string);
+            case Character character -> appendValue(out, character.charValue());
+            case Boolean booleanValue -> appendValue(out, booleanValue.booleanValue());
+            case Double doubleValue -> appendValue(out, doubleValue.doubleValue());
+            case Float floatValue -> appendValue(out, floatValue.doubleValue());
+            case Long longValue -> appendValue(out, longValue.longValue());
+            case Integer integer -> appendValue(out, integer.longValue());
+            case Short shortValue -> appendValue(out, shortValue.longValue());
+            case Byte byteValue -> appendValue(out, byteValue.longValue());
+            case Object[] array -> {
+                out.append('[');
+                for (int index = 0; index < array.length; index++) {
+                    if (index > 0) {
+                        out.append(',');
+                    }
+                    appendValue(out, array[index]);
+                }
+                out.append(']');
+            }
+            case List<?> list -> {
+                out.append('[');
+                for (int index = 0; index < list.size(); index++) {
+                    if (index > 0) {
+                        out.append(',');
+                    }
+                    appendValue(out, list.get(index));
+                }
+                out.append(']');
+            }
+            default -> appendString(out, value.toString());
+        }
+    }
+
+    /**
+     * Writes an integer.
+     *
+     * @param out   the target
+     * @param value the value
+     * @throws IOException if the target fails
+     */
+    public static void appendValue(Appendable out, long value) throws IOException {
+        if (value < 0) {
+            out.append('-');
+        }
+        for (long divisor = divisor(value); divisor != 0; divisor /= 10) {
+            out.append((char) ('0' + Math.abs(value / divisor % 10)));
+        }
+    }
+
+    /**
+     * Writes a number, {@code null} if it is not finite.
+     *
+     * @param out   the target
+     * @param value the value
+     * @throws IOException if the target fails
+     */
+    public static void appendValue(Appendable out, double value) throws IOException {
+        out.append(Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    /**
+     * Writes a boolean.
+     *
+     * @param out   the target
+     * @param value the value
+     * @throws IOException if the target fails
+     */
+    public static void appendValue(Appendable out, boolean value) throws IOException {
+        out.append(value ? "true" : "false");
+    }
+
+    /**
+     * Writes a character as a string.
+     *
+     * @param out   the target
+     * @param value the value
+     * @throws IOException if the target fails
+     */
+    public static void appendValue(Appendable out, char value) throws IOException {
+        out.append('"');
+        appendEscaped(out, value);
+        out.append('"');
+    }
+
+    /**
+     * Writes a string, {@code null} included, escaping quotes, backslashes and control characters.
+     *
+     * @param out    the target
+     * @param string the string
+     * @throws IOException if the target fails
+     */
+    public static void appendString(Appendable out, CharSequence string) throws IOException {
+        if (string == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int index = 0; index < string.length(); index++) {
+            appendEscaped(out, string.charAt(index));
+        }
+        out.append('"');
+    }
+
+    private static void appendEscaped(Appendable out, char character) throws IOException {
+        switch (character) {
+            case '"' -> out.append("\\\"");
+            case '\\' -> out.append("\\\\");
+            case '\n' -> out.append("\\n");
+            case '\r' -> out.append("\\r");
+            case '\t' -> out.append("\\t");
+            default -> {
+                if (character < 0x20) {
+                    out.append("\\u00").append(HEX_DIGITS[character >> 4]).append(HEX_DIGITS[character & 0xF]);
+                } else {
+                    out.append(character);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a value as UTF-8.
+     *
+     * @param buffer the target buffer
+     * @param value  the value, {@code null} included
+     */
+    public static void putValue(ByteBuffer buffer, Object value) {
+        switch (value) {
+            case null -> buffer.put(NULL_UTF8);
+            case CharSequence string -> putString(buffer, string);
+            case Character character -> putValue(buffer, character.charValue());
+            case Boolean booleanValue -> putValue(buffer, booleanValue.booleanValue());
+            case Double doubleValue -> putValue(buffer, doubleValue.doubleValue());
+            case Float floatValue -> putValue(buffer, floatValue.doubleValue());
+            case Long longValue -> putValue(buffer, longValue.longValue());
+            case Integer integer -> putValue(buffer, integer.longValue());
+            case Short shortValue -> putValue(buffer, shortValue.longValue());
+            case Byte byteValue -> putValue(buffer, byteValue.longValue());
+            case Object[] array -> {
+                buffer.put((byte) '[');
+                for (int index = 0; index < array.length; index++) {
+                    if (index > 0) {
+                        buffer.put((byte) ',');
+                    }
+                    putValue(buffer, array[index]);
+                }
+                buffer.put((byte) ']');
+            }
+            case List<?> list -> {
+                buffer.put((byte) '[');
+                for (int index = 0; index < list.size(); index++) {
+                    if (index > 0) {
+                        buffer.put((byte) ',');
+                    }
+                    putValue(buffer, list.get(index));
+                }
+                buffer.put((byte) ']');
+            }
+            default -> putString(buffer, value.toString());
+        }
+    }
+
+    /**
+     * Writes an integer as UTF-8.
+     *
+     * @param buffer the target buffer
+     * @param value  the value
+     */
+    public static void putValue(ByteBuffer buffer, long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        for (long divisor = divisor(value); divisor != 0; divisor /= 10) {
+            buffer.put((byte) ('0' + Math.abs(value / divisor % 10)));
+        }
+    }
+
+    /**
+     * Writes a number as UTF-8, {@code null} if it is not finite.
+     *
+     * @param buffer the target buffer
+     * @param value  the value
+     */
+    public static void putValue(ByteBuffer buffer, double value) {
+        if (!Double.isFinite(value)) {
+            buffer.put(NULL_UTF8);
+            return;
+        }
+        String number = Double.toString(value);
+        for (int index = 0; index < number.length(); index++) {
+            buffer.put((byte) number.charAt(index));
+        }
+    }
+
+    /**
+     * Writes a boolean as UTF-8.
+     *
+     * @param buffer the target buffer
+     * @param value  the value
+     */
+    public static void putValue(ByteBuffer buffer, boolean value) {
+        buffer.put(value ? TRUE_UTF8 : FALSE_UTF8);
+    }
+
+    /**
+     * Writes a character as a UTF-8 string.
+     *
+     * @param buffer the target buffer
+     * @param value  the value
+     */
+    public static void putValue(ByteBuffer buffer, char value) {
+        buffer.put((byte) '"');
+        putEscaped(buffer, value);
+        buffer.put((byte) '"');
+    }
+
+    /**
+     * Writes a string as UTF-8, {@code null} included, escaping quotes, backslashes and control characters.
+     *
+     * @param buffer the target buffer
+     * @param string the string
+     */
+    public static void putString(ByteBuffer buffer, CharSequence string) {
+        if (string == null) {
+            buffer.put(NULL_UTF8);
+            return;
+        }
+        buffer.put((byte) '"');
+        for (int index = 0; index < string.length(); index++) {
+            char character = string.charAt(index);
+            if (Character.isHighSurrogate(character) && index + 1 < string.length()
+                    && Character.isLowSurrogate(string.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(character, string.charAt(++index));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                putEscaped(buffer, character);
+            }
+        }
+        buffer.put((byte) '"');
+    }
+
+    /**
+     * Writes a character of the Basic Multilingual Plane as UTF-8, escaped if needed.
+     * An unpaired surrogate is written as {@code ?}, like {@link String#getBytes}.
+     */
+    private static void putEscaped(ByteBuffer buffer, char character) {
+        switch (character) {
+            case '"', '\\' -> buffer.put((byte) '\\').put((byte) character);
+            case '\n' -> buffer.put((byte) '\\').put((byte) 'n');
+            case '\r' -> buffer.put((byte) '\\').put((byte) 'r');
+            case '\t' -> buffer.put((byte) '\\').put((byte) 't');
+            default -> {
+                if (character < 0x20) {
+                    buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                            .put((byte) HEX_DIGITS[character >> 4]).put((byte) HEX_DIGITS[character & 0xF]);
+                } else if (character < 0x80) {
+                    buffer.put((byte) character);
+                } else if (character < 0x800) {
+                    buffer.put((byte) (0xC0 | (character >> 6)));
+                    buffer.put((byte) (0x80 | (character & 0x3F)));
+                } else if (Character.isSurrogate(character)) {
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | (character >> 12)));
+                    buffer.put((byte) (0x80 | ((character >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (character & 0x3F)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the power of ten of the most significant digit of a value, {@code 1} for zero.
+     */
+    private static long divisor(long value) {
+        long divisor = 1;
+        while (value / divisor / 10 != 0) {
+            divisor *= 10;
+        }
+        return divisor;
+    }
+}
@@ -0,0 +1,125 @@
+package com.orbis.exception.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed message template of the generated exceptions, rendered with the exception params.
+ *
+ * <p>The template supports two kinds of placeholders:</p>
+ * <ul>
+ *   <li>{@code {}} is replaced by the next param, starting from the first one;</li>
+ *   <li>{@code {n}} is replaced by the param at index {@code n}.</li>
+ * </ul>
+ * <pre>
+ * {@code
+ *  MessageTemplate.parse("User {} not found in {1}").render(new Object[]{"42", "EU"}); // User 42 not found in EU
+ * }
+ * </pre>
+ *
+ * <p>Placeholders without a matching param, and any other brace, are kept as they are.
+ * A template without placeholders is rendered as itself, without allocations.</p>
+ */
+public final class MessageTemplate {
+
+    private final String template;
+    private final String[] literals;
+    private final int[] paramIndexes;
+    private final String[] placeholders;
+
+    private MessageTemplate(String template, String[] literals, int[] paramIndexes, String[] placeholders) {
+        this.template = template;
+        this.literals = literals;
+        this.paramIndexes = paramIndexes;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Parses a template, splitting it into literal parts and placeholders.
+     *
+     * @param template the template to parse
+     * @return the parsed template
+     */
+    public static MessageTemplate parse(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> paramIndexes = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int nextSequentialIndex = 0;
+        int literalStart = 0;
+        int position = template.indexOf('{');
+
+        while (position >= 0) {
+            int closing = template.indexOf('}', position + 1);
+            if (closing < 0) {
+                break;
+            }
+            int paramIndex = closing == position + 1
+                    ? nextSequentialIndex++
+                    : parseIndex(template, position + 1, closing);
+            if (paramIndex >= 0) {
+                literals.add(template.substring(literalStart, position));
+                paramIndexes.add(paramIndex);
+                placeholders.add(template.substring(position, closing + 1));
+                literalStart = closing + 1;
+                position = template.indexOf('{', literalStart);
+            } else {
+                position = template.indexOf('{', position + 1);
+            }
+        }
+        literals.add(template.substring(literalStart));
+
+        int[] indexes = new int[paramIndexes.size()];
+        for (int index = 0; index < indexes.length; index++) {
+            indexes[index] = paramIndexes.get(index);
+        }
+        return new MessageTemplate(template, literals.toArray(new String[0]), indexes, placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Parses the digits between the braces of a placeholder.
+     *
+     * @return the param index, or {@code -1} if the braces do not contain only digits
+     */
+    private static int parseIndex(String template, int start, int end) {
+        if (end - start > 9) {
+            return -1;
+        }
+        int paramIndex = 0;
+        for (int position = start; position < end; position++) {
+            char digit = template.charAt(position);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            paramIndex = paramIndex * 10 + (digit - '0');
+        }
+        return paramIndex;
+    }
+
+    /**
+     * Replaces the placeholders with the params.
+     *
+     * @param params the params of the exception, can be {@code null}
+     * @return the rendered message
+     */
+    public String render(Object[] params) {
+        if (paramIndexes.length == 0) {
+            return template;
+        }
+        StringBuilder message = new StringBuilder(template.length() + 16 * paramIndexes.length);
+        for (int index = 0; index < paramIndexes.length; index++) {
+            message.append(literals[index]);
+            int paramIndex = paramIndexes[index];
+            if (params != null && paramIndex < params.length) {
+                message.append(params[paramIndex]);
+            } else {
+                message.append(placeholders[index]);
+            }
+        }
+        return message.append(literals[paramIndexes.length]).toString();
+    }
+
+    /** @return the original template */
+    public String getTemplate() {
+        return template;
+    }
+}
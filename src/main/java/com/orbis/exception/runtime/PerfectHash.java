@@ -0,0 +1,133 @@
+package com.orbis.exception.runtime;
+
+import java.util.*;
+
+/**
+ * Minimal perfect hash of a set of names, used by the generated {@code ExceptionFactories} classes.
+ *
+ * <p>The hash is built at compile time by the annotation processor with the hash and displace
+ * method: the names are split into buckets, and for each bucket, the largest first, a seed is
+ * searched that moves all its names to free slots. With {@code n} names the slots are exactly
+ * {@code 0..n-1}, so the generated tables have no empty entries.</p>
+ *
+ * <p>At runtime a lookup hashes the name once, reads the seed of its bucket and mixes it into
+ * the hash: no probing, no boxing and no allocation. An unknown name also gets a slot, the
+ * caller compares the name stored in the slot.</p>
+ */
+public final class PerfectHash {
+
+    /**
+     * Maximum number of seeds tried for a bucket: with as many buckets as names
+     * a few hundred are enough, the limit only stops an endless search.
+     */
+    private static final int MAX_SEED = 1 << 20;
+
+    private PerfectHash() {
+    }
+
+    /**
+     * Builds the seeds of the hash.
+     *
+     * @param names the names, not empty
+     * @return the seed of each bucket, one bucket per name
+     * @throws IllegalArgumentException if a name is repeated, or if no seed is found for a bucket
+     */
+    public static int[] buildSeeds(String[] names) {
+        int length = names.length;
+        List<List<String>> buckets = new ArrayList<>(length);
+        for (int bucket = 0; bucket < length; bucket++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String name : names) {
+            List<String> bucketNames = buckets.get(bucket(hash(name), length));
+            if (bucketNames.contains(name)) {
+                throw new IllegalArgumentException("Duplicated name " + name);
+            }
+            bucketNames.add(name);
+        }
+
+        Integer[] order = new Integer[length];
+        for (int bucket = 0; bucket < length; bucket++) {
+            order[bucket] = bucket;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+        int[] seeds = new int[length];
+        boolean[] used = new boolean[length];
+        int[] slots = new int[length];
+        for (int bucket : order) {
+            List<String> bucketNames = buckets.get(bucket);
+            if (bucketNames.isEmpty()) {
+                break;
+            }
+            seeds[bucket] = findSeed(bucketNames, used, slots);
+        }
+        return seeds;
+    }
+
+    /**
+     * Searches the first seed moving all the names of a bucket to distinct free slots, and marks them used.
+     */
+    private static int findSeed(List<String> bucketNames, boolean[] used, int[] slots) {
+        for (int seed = 0; seed < MAX_SEED; seed++) {
+            int size = 0;
+            for (String name : bucketNames) {
+                int slot = slot(hash(name), seed, used.length);
+                if (used[slot] || contains(slots, size, slot)) {
+                    break;
+                }
+                slots[size++] = slot;
+            }
+            if (size == bucketNames.size()) {
+                for (int index = 0; index < size; index++) {
+                    used[slots[index]] = true;
+                }
+                return seed;
+            }
+        }
+        throw new IllegalArgumentException("No perfect hash found for " + bucketNames);
+    }
+
+    private static boolean contains(int[] slots, int size, int slot) {
+        for (int index = 0; index < size; index++) {
+            if (slots[index] == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the slot of a name.
+     *
+     * @param seeds the seeds built by {@link #buildSeeds(String[])}
+     * @param name  the name to look up
+     * @return the slot of the name, in {@code 0..seeds.length-1}, meaningful only if the name was one of the built names
+     */
+    public static int slotOf(int[] seeds, String name) {
+        long hash = hash(name);
+        return slot(hash, seeds[bucket(hash, seeds.length)], seeds.length);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of a name, the same on every JVM.
+     */
+    private static long hash(String name) {
+        long hash = 0xCBF29CE484222325L;
+        for (int index = 0; index < name.length(); index++) {
+            hash = (hash ^ name.charAt(index)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static int bucket(long hash, int length) {
+        return Math.floorMod((int) (hash >>> 32), length);
+    }
+
+    private static int slot(long hash, int seed, int length) {
+        long mixed = hash ^ (seed * 0x9E3779B97F4A7C15L);
+        mixed = (mixed ^ (mixed >>> 33)) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return Math.floorMod((int) (mixed ^ (mixed >>> 33)), length);
+    }
+}
@@ -0,0 +1,84 @@
+package com.orbis.exception.runtime;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which instances of a generated exception capture their stack trace,
+ * used by the exceptions generated with a stack trace sampling policy.
+ *
+ * <p>Two limits can be combined:</p>
+ * <ul>
+ *   <li><b>one in N</b>: on average one instance in {@code oneIn} captures the stack trace.
+ *   The decision uses {@link ThreadLocalRandom}, so threads share no state;</li>
+ *   <li><b>per window</b>: at most {@code perWindow} instances capture the stack trace in each
+ *   window of {@code windowMillis}. The window and the count are packed in a single
+ *   {@link AtomicLong}, updated with compare-and-set only while the window has budget left.</li>
+ * </ul>
+ *
+ * <p>The decision is lock-free and never allocates, so it can run on every construction.</p>
+ */
+public final class StackTraceSampler {
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final int oneIn;
+    private final int perWindow;
+    private final long windowNanos;
+    private final AtomicLong windowAndCount = new AtomicLong();
+
+    /**
+     * Creates a sampler.
+     *
+     * @param oneIn        one instance in {@code oneIn} captures the stack trace, {@code 0} or {@code 1} for no limit
+     * @param perWindow    maximum number of stack traces captured in each window, {@code 0} for no limit
+     * @param windowMillis length of the window in milliseconds
+     * @throws IllegalArgumentException if a limit is negative or the window is not positive
+     */
+    public StackTraceSampler(int oneIn, int perWindow, long windowMillis) {
+        if (oneIn < 0 || perWindow < 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("Invalid sampling policy: oneIn=" + oneIn + ", perWindow=" + perWindow + ", windowMillis=" + windowMillis);
+        }
+        this.oneIn = oneIn;
+        this.perWindow = perWindow;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.windowAndCount.set(((long) window(System.nanoTime())) << 32);
+    }
+
+    /**
+     * Decides if the instance being created captures its stack trace.
+     *
+     * @return true if the stack trace must be captured
+     */
+    public boolean sample() {
+        if (oneIn > 1 && ThreadLocalRandom.current().nextInt(oneIn) != 0) {
+            return false;
+        }
+        return perWindow == 0 || sampleInWindow();
+    }
+
+    private boolean sampleInWindow() {
+        int window = window(System.nanoTime());
+        while (true) {
+            long state = windowAndCount.get();
+            if ((int) (state >>> 32) != window) {
+                if (windowAndCount.compareAndSet(state, (((long) window) << 32) | 1)) {
+                    return true;
+                }
+            } else if ((state & COUNT_MASK) >= perWindow) {
+                return false;
+            } else if (windowAndCount.compareAndSet(state, state + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the window of a time, truncated to an {@code int}:
+     * two windows have the same index only if they are {@code 2^32} windows apart.
+     */
+    private int window(long nanoTime) {
+        return (int) Math.floorDiv(nanoTime, windowNanos);
+    }
+}
@@ -0,0 +1,106 @@
+package com.orbis.exception.runtime;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throw counters of a generated {@code *Impl}, one for each method annotated with
+ * {@code @ExceptionRunner(countThrows = true)}.
+ *
+ * <p>Each method has its own {@link LongAdder}, so threads throwing the same exception
+ * update different cells instead of contending on a single value: the throw path is one
+ * increment, with no lock and no allocation. The counts by exception are summed only
+ * when a snapshot is taken.</p>
+ *
+ * <p>Every counter registers itself when its {@code *Impl} is initialized, so all the counters
+ * of the application can be read from {@link #registered()}, for example to export them as metrics:</p>
+ * <pre>
+ * {@code
+ *  Map<String, Long> throwsByException = ThrowCounter.totalsByException();
+ * }
+ * </pre>
+ *
+ * <p>Snapshots never block the throwing threads. They are not atomic: a throw
+ * concurrent with the snapshot may or may not be included.</p>
+ */
+public final class ThrowCounter {
+
+    private static final List<ThrowCounter> REGISTERED = new CopyOnWriteArrayList<>();
+
+    private final String owner;
+    private final String[] methods;
+    private final String[] exceptions;
+    private final LongAdder[] counters;
+
+    /**
+     * Creates and registers the counters of a generated class.
+     *
+     * @param owner      the qualified name of the generated class
+     * @param methods    the signature of each counted method
+     * @param exceptions the qualified name of the exception thrown by each counted method
+     */
+    public ThrowCounter(String owner, String[] methods, String[] exceptions) {
+        this.owner = owner;
+        this.methods = methods;
+        this.exceptions = exceptions;
+        this.counters = new LongAdder[methods.length];
+        for (int index = 0; index < counters.length; index++) {
+            counters[index] = new LongAdder();
+        }
+        REGISTERED.add(this);
+    }
+
+    /**
+     * Counts a throw of a method.
+     *
+     * @param method the index of the method, in the order given to the constructor
+     */
+    public void increment(int method) {
+        counters[method].increment();
+    }
+
+    /** @return the qualified name of the generated class */
+    public String getOwner() {
+        return owner;
+    }
+
+    /** @return the number of throws of each method, by signature */
+    public Map<String, Long> byMethod() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (int index = 0; index < counters.length; index++) {
+            snapshot.put(methods[index], counters[index].sum());
+        }
+        return snapshot;
+    }
+
+    /** @return the number of throws of each exception, by qualified name */
+    public Map<String, Long> byException() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        addByException(snapshot);
+        return snapshot;
+    }
+
+    private void addByException(Map<String, Long> snapshot) {
+        for (int index = 0; index < counters.length; index++) {
+            snapshot.merge(exceptions[index], counters[index].sum(), Long::sum);
+        }
+    }
+
+    /** @return the counters of all the initialized classes */
+    public static List<ThrowCounter> registered() {
+        return Collections.unmodifiableList(REGISTERED);
+    }
+
+    /** @return the number of throws of each exception, by qualified name, summed over all the registered counters */
+    public static Map<String, Long> totalsByException() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (ThrowCounter counter : REGISTERED) {
+            counter.addByException(snapshot);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,67 @@
+package com.orbis.exception.runtime;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event of a throw by a generated {@code *Impl} method, emitted by the
+ * methods generated with {@code flightRecorderEvent}.
+ *
+ * <p>Unlike {@code jdk.JavaExceptionThrow}, the event is emitted only by the generated methods and
+ * tells which interface method threw which exception, so a recording can be filtered by
+ * {@value #NAME} and grouped by method. The event is enabled by default with its stack trace:</p>
+ * <pre>
+ * {@code
+ * java -XX:StartFlightRecording:filename=recording.jfr -jar application.jar
+ * jfr print --events com.orbis.exception.Throw recording.jfr
+ * }
+ * </pre>
+ *
+ * <p>When no recording is running, {@link #emit} only checks {@link #isEnabled()}: the event
+ * does not escape, so the JIT removes its allocation.</p>
+ */
+@Name(ThrowEvent.NAME)
+@Label("Generated Exception Throw")
+@Category({"Orbis", "Exceptions"})
+@Description("An exception thrown by a generated *Impl method")
+public final class ThrowEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "com.orbis.exception.Throw";
+
+    @Label("Exception Class")
+    private Class<?> exceptionClass;
+
+    @Label("Interface")
+    private Class<?> interfaceClass;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Param Count")
+    @Description("The number of params of the exception, the elements of an array parameter included")
+    private int paramCount;
+
+    private ThrowEvent() {
+    }
+
+    /**
+     * Emits the event if it is enabled in a running recording.
+     *
+     * @param exceptionClass the class of the thrown exception
+     * @param interfaceClass the interface declaring the method
+     * @param method         the name of the method
+     * @param paramCount     the number of params of the exception
+     */
+    public static void emit(Class<?> exceptionClass, Class<?> interfaceClass, String method, int paramCount) {
+        ThrowEvent event = new ThrowEvent();
+        if (event.isEnabled()) {
+            event.exceptionClass = exceptionClass;
+            event.interfaceClass = interfaceClass;
+            event.method = method;
+            event.paramCount = paramCount;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.orbis.type;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+import com.orbis.exception.annotations.ExceptionRunner;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class holding everything the processors need to know about an interface
+ * annotated with {@link ExceptionMaker} or declaring methods annotated with {@link ExceptionRunner}.
+ *
+ * <p>It stores the interface, its package, the {@link ExceptionMaker} annotation (if present)
+ * and the {@link ExceptionRunner} methods in declaration order, indexed by exception class name.</p>
+ */
+public class InterfaceModelException {
+    private final TypeElement interfaceElement;
+    private final String packageName;
+    private final String interfaceName;
+    private ExceptionMaker exceptionMaker;
+    private final List<ExecutableElement> runnerMethods = new ArrayList<>();
+    private final Map<String, List<ExecutableElement>> runnerMethodsByExceptionName = new LinkedHashMap<>();
+
+    /**
+     * Creates a new model of the interface.
+     *
+     * @param interfaceElement the interface
+     * @param packageName      the package name of the interface
+     */
+    public InterfaceModelException(TypeElement interfaceElement, String packageName) {
+        this.interfaceElement = interfaceElement;
+        this.packageName = packageName;
+        this.interfaceName = interfaceElement.getSimpleName().toString();
+    }
+
+    /** @return the interface */
+    public TypeElement getInterfaceElement() {
+        return interfaceElement;
+    }
+
+    /** @return the package name */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /** @return the interface name */
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    /** @return the {@link ExceptionMaker} annotation of the interface, or {@code null} if not annotated */
+    public ExceptionMaker getExceptionMaker() {
+        return exceptionMaker;
+    }
+
+    /** @param exceptionMaker the {@link ExceptionMaker} annotation of the interface */
+    public void setExceptionMaker(ExceptionMaker exceptionMaker) {
+        this.exceptionMaker = exceptionMaker;
+    }
+
+    /** @return the methods annotated with {@link ExceptionRunner}, in declaration order */
+    public List<ExecutableElement> getRunnerMethods() {
+        return runnerMethods;
+    }
+
+    /** @return the methods annotated with {@link ExceptionRunner}, grouped by thrown exception class name */
+    public Map<String, List<ExecutableElement>> getRunnerMethodsByExceptionName() {
+        return runnerMethodsByExceptionName;
+    }
+
+    /**
+     * Adds a method annotated with {@link ExceptionRunner}, indexing it by thrown exception class name.
+     *
+     * @param runnerMethod the annotated method
+     */
+    public void addRunnerMethod(ExecutableElement runnerMethod) {
+        runnerMethods.add(runnerMethod);
+        runnerMethodsByExceptionName
+                .computeIfAbsent(runnerMethod.getAnnotation(ExceptionRunner.class).exceptionClass(), exceptionName -> new ArrayList<>())
+                .add(runnerMethod);
+    }
+}
@@ -14,6 +14,16 @@ public class RunnerMethodTypesException {
     private String methodArguments;
     private String exceptionNameClass;
     private String variableList;
+    private String parameterNames;
+    private String sharedInstanceName;
+    private boolean sharedByMessage;
+    private String methodSignature;
+    private int throwCounterIndex = -1;
+    private String resultName;
+    private String resultConstantName;
+    private String asyncVariant;
+    private String asyncInstanceName;
+    private String flightRecorderParamCount;
 
     /** @return the return type of the method */
     public String getReturnMethodType() {
@@ -64,4 +74,104 @@ public class RunnerMethodTypesException {
     public void setVariableList(String variableList) {
         this.variableList = variableList;
     }
+
+    /** @return the parameter names of the method, comma-separated */
+    public String getParameterNames() {
+        return parameterNames;
+    }
+
+    /** @param parameterNames the parameter names of the method, comma-separated */
+    public void setParameterNames(String parameterNames) {
+        this.parameterNames = parameterNames;
+    }
+
+    /** @return the name of the static field holding the shared exception, or {@code null} if a new exception is thrown */
+    public String getSharedInstanceName() {
+        return sharedInstanceName;
+    }
+
+    /** @param sharedInstanceName the name of the static field holding the shared exception */
+    public void setSharedInstanceName(String sharedInstanceName) {
+        this.sharedInstanceName = sharedInstanceName;
+    }
+
+    /** @return true if the shared exceptions are cached by message */
+    public boolean isSharedByMessage() {
+        return sharedByMessage;
+    }
+
+    /** @param sharedByMessage true if the shared exceptions are cached by message */
+    public void setSharedByMessage(boolean sharedByMessage) {
+        this.sharedByMessage = sharedByMessage;
+    }
+
+    /** @return the method name followed by the parameter types, e.g. {@code userNotFound(java.lang.String)} */
+    public String getMethodSignature() {
+        return methodSignature;
+    }
+
+    /** @param methodSignature the method name followed by the parameter types */
+    public void setMethodSignature(String methodSignature) {
+        this.methodSignature = methodSignature;
+    }
+
+    /** @return the index of the method in the throw counter, or {@code -1} if the throws are not counted */
+    public int getThrowCounterIndex() {
+        return throwCounterIndex;
+    }
+
+    /** @param throwCounterIndex the index of the method in the throw counter */
+    public void setThrowCounterIndex(int throwCounterIndex) {
+        this.throwCounterIndex = throwCounterIndex;
+    }
+
+    /** @return the name of the failure record in the result type, or {@code null} if the method has no result variant */
+    public String getResultName() {
+        return resultName;
+    }
+
+    /** @param resultName the name of the failure record in the result type */
+    public void setResultName(String resultName) {
+        this.resultName = resultName;
+    }
+
+    /** @return the name of the constant holding the preallocated failure, or {@code null} if a new failure is returned */
+    public String getResultConstantName() {
+        return resultConstantName;
+    }
+
+    /** @param resultConstantName the name of the constant holding the preallocated failure */
+    public void setResultConstantName(String resultConstantName) {
+        this.resultConstantName = resultConstantName;
+    }
+
+    /** @return the kind of asynchronous companion, {@code future} or {@code stage}, or {@code null} if the method has none */
+    public String getAsyncVariant() {
+        return asyncVariant;
+    }
+
+    /** @param asyncVariant the kind of asynchronous companion, {@code future} or {@code stage} */
+    public void setAsyncVariant(String asyncVariant) {
+        this.asyncVariant = asyncVariant;
+    }
+
+    /** @return the name of the static field holding the cached failure of the companion, or {@code null} if it is created on each call */
+    public String getAsyncInstanceName() {
+        return asyncInstanceName;
+    }
+
+    /** @param asyncInstanceName the name of the static field holding the cached failure of the companion */
+    public void setAsyncInstanceName(String asyncInstanceName) {
+        this.asyncInstanceName = asyncInstanceName;
+    }
+
+    /** @return the expression of the number of params of the flight recorder event, or {@code null} if the method emits no event */
+    public String getFlightRecorderParamCount() {
+        return flightRecorderParamCount;
+    }
+
+    /** @param flightRecorderParamCount the expression of the number of params of the flight recorder event */
+    public void setFlightRecorderParamCount(String flightRecorderParamCount) {
+        this.flightRecorderParamCount = flightRecorderParamCount;
+    }
 }
@@ -0,0 +1,67 @@
+package com.orbis.type;
+
+import com.orbis.exception.annotations.ExceptionMaker;
+
+/**
+ * Class representing how a generated exception captures its stack trace,
+ * resolved from the {@link ExceptionMaker} annotation for each exception class.
+ *
+ * <p>It stores whether the exception is stackless, the expression creating its stack trace
+ * sampler, and the depth and excluded frames of its compact stack trace.</p>
+ */
+public class StackTracePolicyException {
+    private boolean stackless;
+    private String stackTraceSampler;
+    private int stackTraceDepth;
+    private String[] excludedFrames = {};
+
+    /** @return true if the exception never captures its stack trace */
+    public boolean isStackless() {
+        return stackless;
+    }
+
+    /** @param stackless true if the exception never captures its stack trace */
+    public void setStackless(boolean stackless) {
+        this.stackless = stackless;
+    }
+
+    /** @return the expression creating the stack trace sampler, or {@code null} if the stack trace is not sampled */
+    public String getStackTraceSampler() {
+        return stackTraceSampler;
+    }
+
+    /** @param stackTraceSampler the expression creating the stack trace sampler */
+    public void setStackTraceSampler(String stackTraceSampler) {
+        this.stackTraceSampler = stackTraceSampler;
+    }
+
+    /** @return true if only some instances, chosen by the sampler, capture the stack trace */
+    public boolean isSampled() {
+        return stackTraceSampler != null;
+    }
+
+    /** @return the maximum number of captured frames, {@code 0} if not limited */
+    public int getStackTraceDepth() {
+        return stackTraceDepth;
+    }
+
+    /** @param stackTraceDepth the maximum number of captured frames */
+    public void setStackTraceDepth(int stackTraceDepth) {
+        this.stackTraceDepth = stackTraceDepth;
+    }
+
+    /** @return the class name prefixes of the frames not captured */
+    public String[] getExcludedFrames() {
+        return excludedFrames;
+    }
+
+    /** @param excludedFrames the class name prefixes of the frames not captured */
+    public void setExcludedFrames(String[] excludedFrames) {
+        this.excludedFrames = excludedFrames;
+    }
+
+    /** @return true if the stack trace is captured in compact form and converted only when read */
+    public boolean isCompact() {
+        return !stackless && (stackTraceDepth > 0 || excludedFrames.length > 0);
+    }
+}
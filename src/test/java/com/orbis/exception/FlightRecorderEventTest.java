@@ -0,0 +1,118 @@
+package com.orbis.exception;
+
+import com.orbis.exception.runtime.ThrowEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import junit.framework.TestCase;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Checks the flight recorder events of the generated {@code *Impl} methods: the interface is
+ * compiled with both processors, its methods are called during a recording, and the events
+ * are read back from the recording file.
+ */
+public class FlightRecorderEventTest extends TestCase {
+
+    private static final String USER_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"UserNotFoundException", "InvalidRequestException"})
+            public interface UserErrors {
+
+                @ExceptionRunner(exceptionClass = "UserNotFoundException", flightRecorderEvent = true)
+                void userNotFound(String message);
+
+                @ExceptionRunner(exceptionClass = "InvalidRequestException", flightRecorderEvent = true)
+                void invalidRequest(String message, Object[] params);
+
+                @ExceptionRunner(exceptionClass = "InvalidRequestException")
+                void notRecorded(String message);
+            }
+            """;
+
+    /**
+     * Each throw of a method with {@code flightRecorderEvent} emits one event, with the exception,
+     * the interface, the method and the number of params.
+     */
+    public void testThrowsAreRecorded() throws Exception {
+        Path classes = compile();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+             Recording recording = new Recording()) {
+            Object userErrors = classLoader.loadClass("demo.UserErrorsImpl").getConstructor().newInstance();
+            recording.enable(ThrowEvent.NAME);
+            recording.start();
+            invoke(userErrors, "userNotFound", new Class<?>[]{String.class}, "User not found");
+            invoke(userErrors, "invalidRequest", new Class<?>[]{String.class, Object[].class}, "Invalid {} {}", new Object[]{"id", 42});
+            invoke(userErrors, "notRecorded", new Class<?>[]{String.class}, "Not recorded");
+            recording.stop();
+
+            Path recordingFile = Files.createTempFile("throws", ".jfr");
+            recording.dump(recordingFile);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                    .filter(event -> event.getEventType().getName().equals(ThrowEvent.NAME))
+                    .toList();
+
+            assertEquals(2, events.size());
+            assertEvent(events.get(0), "demo.UserNotFoundException", "userNotFound", 1);
+            assertEvent(events.get(1), "demo.InvalidRequestException", "invalidRequest", 3);
+        }
+    }
+
+    private static void assertEvent(RecordedEvent event, String exceptionClass, String method, int paramCount) {
+        assertEquals(exceptionClass, event.getClass("exceptionClass").getName());
+        assertEquals("demo.UserErrors", event.getClass("interfaceClass").getName());
+        assertEquals(method, event.getString("method"));
+        assertEquals(paramCount, event.getInt("paramCount"));
+    }
+
+    private static void invoke(Object target, String methodName, Class<?>[] parameterTypes, Object... args) throws ReflectiveOperationException {
+        Method method = target.getClass().getMethod(methodName, parameterTypes);
+        try {
+            method.invoke(target, args);
+            fail(methodName + " did not throw");
+        } catch (InvocationTargetException exception) {
+            assertTrue(exception.getCause() instanceof RuntimeException);
+        }
+    }
+
+    /**
+     * Compiles the interface and the generated sources, with the library on the class path.
+     */
+    private static Path compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path generatedSources = Files.createTempDirectory("generated-sources");
+        Path classes = Files.createTempDirectory("classes");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-s", generatedSources.toString(), "-d", classes.toString()),
+                    null, List.of(new SimpleJavaFileObject(URI.create("string:///demo/UserErrors.java"), JavaFileObject.Kind.SOURCE) {
+                        @Override
+                        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                            return USER_ERRORS;
+                        }
+                    }));
+            task.setProcessors(List.of(new ExceptionMakerProcessor(), new ExceptionRunnerProcessor()));
+
+            boolean success = task.call();
+            assertTrue(diagnostics.getDiagnostics().toString(), success);
+        }
+        return classes;
+    }
+}
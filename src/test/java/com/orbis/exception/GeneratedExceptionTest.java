@@ -0,0 +1,244 @@
+package com.orbis.exception;
+
+import junit.framework.TestCase;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Checks the behaviour of the generated exceptions at runtime: the interface is compiled
+ * with both processors and the generated classes are loaded from the compiled classes.
+ */
+public class GeneratedExceptionTest extends TestCase {
+
+    private static final String COMPACT_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"CompactFailureException"}, stackTraceDepth = 4)
+            public interface CompactErrors {
+
+                @ExceptionRunner(exceptionClass = "CompactFailureException")
+                void compactFailure(String message);
+            }
+            """;
+
+    private static final String POLICY_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+
+            @ExceptionMaker(classesName = {"StacklessFailureException", "SampledFailureException"},
+                    stacklessClassesName = {"StacklessFailureException"}, stackTraceOneIn = 2)
+            public interface PolicyErrors {
+            }
+            """;
+
+    private static final String CODEC_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"TransferFailedException"}, enableCustomParameterOrder = true, binaryCodec = true)
+            public interface CodecErrors {
+
+                @ExceptionRunner(exceptionClass = "TransferFailedException")
+                void transferFailed(long amount, java.util.List<String> accounts, java.util.UUID transferId, String[] notes);
+            }
+            """;
+
+    private static final String CLASHING_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"ImportFailedException"}, enableCustomParameterOrder = true)
+            public interface ClashingErrors {
+
+                @ExceptionRunner(exceptionClass = "ImportFailedException")
+                void importFailed(Object[] rows, Throwable error, boolean retryable);
+            }
+            """;
+
+    private static final String NO_PARAMETER_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"ShutdownFailedException"}, enableCustomParameterOrder = true, binaryCodec = true)
+            public interface NoParameterErrors {
+
+                @ExceptionRunner(exceptionClass = "ShutdownFailedException")
+                void shutdownFailed();
+            }
+            """;
+
+    /**
+     * A compact stack trace is kept in raw form until read, and once read it is printed also when the
+     * exception is the cause of another one.
+     */
+    public void testCompactStackTraceIsPrintedAsCause() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{compile("demo.CompactErrors", COMPACT_ERRORS).toUri().toURL()},
+                getClass().getClassLoader())) {
+            Object compactErrors = classLoader.loadClass("demo.CompactErrorsImpl").getConstructor().newInstance();
+            RuntimeException compactFailure = null;
+            try {
+                compactErrors.getClass().getMethod("compactFailure", String.class).invoke(compactErrors, "failure");
+            } catch (InvocationTargetException exception) {
+                compactFailure = (RuntimeException) exception.getCause();
+            }
+            assertNotNull(compactFailure);
+            Field compactStackTrace = compactFailure.getClass().getDeclaredField("compactStackTrace");
+            compactStackTrace.setAccessible(true);
+            assertNotNull(compactStackTrace.get(compactFailure));
+
+            assertEquals(4, compactFailure.getStackTrace().length);
+            assertNull(compactStackTrace.get(compactFailure));
+
+            StringWriter printed = new StringWriter();
+            new IllegalStateException("wrapper", compactFailure).printStackTrace(new PrintWriter(printed));
+            String cause = printed.toString().substring(printed.toString().indexOf("Caused by: demo.CompactFailureException: failure"));
+            assertTrue(cause, cause.contains("\tat demo.CompactErrorsImpl.compactFailure("));
+        }
+    }
+
+    /**
+     * The exceptions created without stack trace, stackless or not sampled, have suppression disabled
+     * and leave the cause uninitialized, so it can be set once with {@code initCause}.
+     */
+    public void testCauseCanBeInitializedWithoutStackTrace() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{compile("demo.PolicyErrors", POLICY_ERRORS).toUri().toURL()},
+                getClass().getClassLoader())) {
+            for (String exceptionClassName : List.of("demo.StacklessFailureException", "demo.SampledFailureException")) {
+                for (int instance = 0; instance < 4; instance++) {
+                    RuntimeException exception = (RuntimeException) classLoader.loadClass(exceptionClassName)
+                            .getConstructor(String.class).newInstance("failure");
+                    IllegalStateException cause = new IllegalStateException("cause");
+
+                    assertSame(exception, exception.initCause(cause));
+                    assertSame(cause, exception.getCause());
+                    try {
+                        exception.initCause(null);
+                        fail("The cause of " + exceptionClassName + " was overwritten");
+                    } catch (IllegalStateException expected) {
+                        assertSame(cause, exception.getCause());
+                    }
+                    exception.addSuppressed(new IllegalStateException("suppressed"));
+                    assertEquals(0, exception.getSuppressed().length);
+                }
+            }
+            RuntimeException stackless = (RuntimeException) classLoader.loadClass("demo.StacklessFailureException")
+                    .getConstructor(String.class).newInstance("failure");
+            assertEquals(0, stackless.getStackTrace().length);
+
+            IllegalStateException cause = new IllegalStateException("cause");
+            RuntimeException wrapped = (RuntimeException) classLoader.loadClass("demo.StacklessFailureException")
+                    .getMethod("wrap", String.class, Throwable.class).invoke(null, "failure", cause);
+            assertSame(cause, wrapped.getCause());
+        }
+    }
+
+    /**
+     * A runner method without parameters becomes a typed constructor without typed fields.
+     */
+    public void testRunnerMethodWithoutParametersIsTyped() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{compile("demo.NoParameterErrors", NO_PARAMETER_ERRORS).toUri().toURL()},
+                getClass().getClassLoader())) {
+            Object noParameterErrors = classLoader.loadClass("demo.NoParameterErrorsImpl").getConstructor().newInstance();
+            RuntimeException shutdownFailed = null;
+            try {
+                noParameterErrors.getClass().getMethod("shutdownFailed").invoke(noParameterErrors);
+            } catch (InvocationTargetException exception) {
+                shutdownFailed = (RuntimeException) exception.getCause();
+            }
+            assertNotNull(shutdownFailed);
+            assertEquals("demo.ShutdownFailedException", shutdownFailed.getClass().getName());
+            assertEquals(0, ((Object[]) shutdownFailed.getClass().getMethod("getParam").invoke(shutdownFailed)).length);
+
+            Object varargs = classLoader.loadClass("demo.ShutdownFailedException")
+                    .getConstructor(Object[].class).newInstance((Object) new Object[]{"node-1"});
+            assertEquals("node-1", ((Object[]) varargs.getClass().getMethod("getParam").invoke(varargs))[0]);
+        }
+    }
+
+    /**
+     * The typed params that the binary codec cannot decode to their own type are compilation errors.
+     */
+    public void testBinaryCodecRejectsTypedParamsItCannotDecode() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile("demo.CodecErrors", CODEC_ERRORS, diagnostics));
+
+        List<String> errors = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .toList();
+        assertEquals(errors.toString(), 2, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("binaryCodec cannot decode the parameter transferId of type java.util.UUID"));
+        assertTrue(errors.get(1), errors.get(1).startsWith("binaryCodec cannot decode the parameter notes of type java.lang.String[]"));
+    }
+
+    /**
+     * A signature with the erasure of a generated constructor gets no typed constructor, instead of a
+     * class that does not compile.
+     */
+    public void testSignatureClashingWithTheFactoryConstructorIsNotTyped() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(diagnostics.getDiagnostics().toString(), compile("demo.ClashingErrors", CLASHING_ERRORS, diagnostics));
+
+        assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().stream()
+                .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING
+                        && diagnostic.getMessage(null).startsWith("Typed constructors of ImportFailedException not generated")));
+    }
+
+    /**
+     * Compiles an interface and the generated sources, with the library on the class path.
+     */
+    private static Path compile(String className, String source) throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path classes = Files.createTempDirectory("classes");
+        assertTrue(diagnostics.getDiagnostics().toString(), compile(className, source, classes, diagnostics));
+        return classes;
+    }
+
+    /**
+     * Compiles an interface and the generated sources, reporting the diagnostics instead of failing.
+     */
+    private static boolean compile(String className, String source, DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        return compile(className, source, Files.createTempDirectory("classes"), diagnostics);
+    }
+
+    private static boolean compile(String className, String source, Path classes, DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path generatedSources = Files.createTempDirectory("generated-sources");
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-s", generatedSources.toString(), "-d", classes.toString()),
+                    null, List.of(new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                            JavaFileObject.Kind.SOURCE) {
+                        @Override
+                        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                            return source;
+                        }
+                    }));
+            task.setProcessors(List.of(new ExceptionMakerProcessor(), new ExceptionRunnerProcessor()));
+            return task.call();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.orbis.exception;
+
+import com.orbis.exception.runtime.ExceptionIndex;
+import junit.framework.TestCase;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Checks that both processors can be used by incremental compilers:
+ * every generated file must depend only on the interface it was generated from.
+ */
+public class IncrementalProcessingTest extends TestCase {
+
+    private static final String USER_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"UserNotFoundException", "InvalidRequestException"})
+            public interface UserErrors {
+
+                @ExceptionRunner(exceptionClass = "UserNotFoundException", componentModel = "spring")
+                void userNotFound(String message);
+
+                @ExceptionRunner(exceptionClass = "InvalidRequestException", componentModel = "spring")
+                void invalidRequest(String message, Object[] params);
+            }
+            """;
+
+    private static final String ORDER_ERRORS = """
+            package demo;
+
+            import com.orbis.exception.annotations.ExceptionMaker;
+            import com.orbis.exception.annotations.ExceptionRunner;
+
+            @ExceptionMaker(classesName = {"OrderRejectedException"}, enableCustomParameterOrder = true)
+            public interface OrderErrors {
+
+                @ExceptionRunner(exceptionClass = "OrderRejectedException", componentModel = "spring")
+                void orderRejected(long orderId, String reason);
+            }
+            """;
+
+    /**
+     * Stand-in for the Spring annotation used by the generated {@code *Impl}.
+     */
+    private static final String SPRING_COMPONENT = """
+            package org.springframework.stereotype;
+
+            public @interface Component {
+            }
+            """;
+
+    /**
+     * Every generated file must declare exactly one originating element: its interface.
+     */
+    public void testGeneratedFilesAreOriginatedOnlyByTheirInterface() throws IOException {
+        Map<String, List<String>> originatingElements = process(Map.of(
+                "demo.UserErrors", USER_ERRORS,
+                "demo.OrderErrors", ORDER_ERRORS));
+
+        assertEquals(Map.of(
+                "demo.UserNotFoundException", List.of("demo.UserErrors"),
+                "demo.InvalidRequestException", List.of("demo.UserErrors"),
+                "demo.UserErrorsImpl", List.of("demo.UserErrors"),
+                "demo.OrderRejectedException", List.of("demo.OrderErrors"),
+                "demo.OrderErrorsImpl", List.of("demo.OrderErrors")), originatingElements);
+    }
+
+    /**
+     * Reprocessing only the changed interface, as an incremental compiler does,
+     * must regenerate only the exceptions and the {@code *Impl} of that interface.
+     */
+    public void testChangedInterfaceRegeneratesOnlyItsFiles() throws IOException {
+        String changedOrderErrors = ORDER_ERRORS.replace("\"OrderRejectedException\"}", "\"OrderRejectedException\", \"OrderLockedException\"}");
+
+        Map<String, List<String>> originatingElements = process(Map.of("demo.OrderErrors", changedOrderErrors));
+
+        assertEquals(Set.of("demo.OrderRejectedException", "demo.OrderLockedException", "demo.OrderErrorsImpl"),
+                originatingElements.keySet());
+    }
+
+    /**
+     * The native-image metadata of each interface must be originated only by that interface.
+     */
+    public void testNativeImageMetadataIsOriginatedOnlyByItsInterface() throws IOException {
+        Map<String, List<String>> resourceOriginatingElements = new HashMap<>();
+        process(Map.of("demo.UserErrors", USER_ERRORS, "demo.OrderErrors", ORDER_ERRORS), resourceOriginatingElements);
+
+        String root = "META-INF/native-image/com.orbis.exception/";
+        assertEquals(Map.of(
+                root + "demo.UserErrors/exceptions/reflect-config.json", List.of("demo.UserErrors"),
+                root + "demo.UserErrors/exceptions/serialization-config.json", List.of("demo.UserErrors"),
+                root + "demo.UserErrors/impl/reflect-config.json", List.of("demo.UserErrors"),
+                root + "demo.OrderErrors/exceptions/reflect-config.json", List.of("demo.OrderErrors"),
+                root + "demo.OrderErrors/exceptions/serialization-config.json", List.of("demo.OrderErrors"),
+                root + "demo.OrderErrors/impl/reflect-config.json", List.of("demo.OrderErrors")), resourceOriginatingElements);
+    }
+
+    /**
+     * The exception index lists the exceptions of all the interfaces: it must be written
+     * by the aggregating processor, originated by every interface, like its native-image metadata.
+     */
+    public void testExceptionIndexIsOriginatedByAllTheInterfaces() throws IOException {
+        Map<String, List<String>> resourceOriginatingElements = new HashMap<>();
+        process(Map.of("demo.UserErrors", USER_ERRORS, "demo.OrderErrors", ORDER_ERRORS), resourceOriginatingElements,
+                new ExceptionRegistryProcessor());
+
+        assertEquals(Set.of("demo.UserErrors", "demo.OrderErrors"), new HashSet<>(resourceOriginatingElements.get(ExceptionIndex.RESOURCE)));
+        assertEquals(Set.of("demo.UserErrors", "demo.OrderErrors"), new HashSet<>(resourceOriginatingElements
+                .get("META-INF/native-image/com.orbis.exception/exceptions.index/resource-config.json")));
+    }
+
+    /**
+     * An incremental compiler reprocesses the changed interface from its source and hands the
+     * unchanged ones to the aggregating processor as class files: the files aggregating all the
+     * interfaces must keep the exceptions of the unchanged ones.
+     */
+    public void testReprocessedInterfaceKeepsTheAggregatedEntriesOfTheOthers() throws IOException {
+        String userErrors = USER_ERRORS.replace("InvalidRequestException\"})", "InvalidRequestException\"}, errorCodes = true, factoryTable = true)");
+        String orderErrors = ORDER_ERRORS.replace("enableCustomParameterOrder = true)", "enableCustomParameterOrder = true, errorCodes = true, factoryTable = true)");
+        Path classes = Files.createTempDirectory("classes");
+        compile(Map.of("org.springframework.stereotype.Component", SPRING_COMPONENT, "demo.UserErrors", userErrors, "demo.OrderErrors", orderErrors),
+                List.of("-d", classes.toString(), "-s", Files.createTempDirectory("generated-sources").toString()), List.of(),
+                new ExceptionMakerProcessor(), new ExceptionRunnerProcessor(), new ExceptionRegistryProcessor());
+
+        String changedOrderErrors = orderErrors.replace("\"OrderRejectedException\"}", "\"OrderRejectedException\", \"OrderLockedException\"}");
+        Path generatedSources = Files.createTempDirectory("generated-sources");
+        Path generatedClasses = Files.createTempDirectory("generated-classes");
+        compile(Map.of("demo.OrderErrors", changedOrderErrors),
+                List.of("-proc:only", "-classpath", classes + java.io.File.pathSeparator + System.getProperty("java.class.path"),
+                        "-s", generatedSources.toString(), "-d", generatedClasses.toString()),
+                List.of("demo.UserErrors"), new ExceptionRegistryProcessor());
+
+        String index = Files.readString(generatedClasses.resolve(ExceptionIndex.RESOURCE));
+        String registry = Files.readString(generatedSources.resolve("demo/" + ExceptionRegistryProcessor.REGISTRY_CLASS_NAME + ".java"));
+        String factories = Files.readString(generatedSources.resolve("demo/" + ExceptionRegistryProcessor.FACTORIES_CLASS_NAME + ".java"));
+        for (String exceptionName : List.of("UserNotFoundException", "InvalidRequestException", "OrderRejectedException", "OrderLockedException")) {
+            assertTrue(exceptionName + " not indexed", index.contains(exceptionName));
+            assertTrue(exceptionName + " not registered", registry.contains(exceptionName));
+            assertTrue(exceptionName + " not in the factory table", factories.contains(exceptionName));
+        }
+        assertTrue(index.contains("UserErrorsImpl.userNotFound"));
+    }
+
+    /**
+     * Both processors must be declared to Gradle as isolating.
+     */
+    public void testProcessorsAreDeclaredIsolating() throws IOException {
+        List<String> declarations = new ArrayList<>();
+        try (InputStream input = getClass().getResourceAsStream("/META-INF/gradle/incremental.annotation.processors")) {
+            assertNotNull(input);
+            new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)).lines().forEach(declarations::add);
+        }
+
+        assertTrue(declarations.contains(ExceptionMakerProcessor.class.getName() + ",isolating"));
+        assertTrue(declarations.contains(ExceptionRunnerProcessor.class.getName() + ",isolating"));
+    }
+
+    /**
+     * Runs both processors on the given sources and records, for each generated
+     * source file, the qualified names of its originating elements.
+     */
+    private Map<String, List<String>> process(Map<String, String> sources) throws IOException {
+        return process(sources, new HashMap<>());
+    }
+
+    /**
+     * Same as {@link #process(Map)}, also recording the originating elements of each generated resource,
+     * with the given processors after the two isolating ones.
+     */
+    private Map<String, List<String>> process(Map<String, String> sources, Map<String, List<String>> resourceOriginatingElements,
+                                              Processor... otherProcessors) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path generatedSources = Files.createTempDirectory("generated-sources");
+        Path generatedClasses = Files.createTempDirectory("generated-classes");
+        Map<String, List<String>> originatingElements = new HashMap<>();
+
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        compilationUnits.add(new SourceFile("org.springframework.stereotype.Component", SPRING_COMPONENT));
+        sources.forEach((className, source) -> compilationUnits.add(new SourceFile(className, source)));
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-proc:only", "-s", generatedSources.toString(), "-d", generatedClasses.toString()), null, compilationUnits);
+            List<Processor> processors = new ArrayList<>(List.of(
+                    new RecordingProcessor(new ExceptionMakerProcessor(), originatingElements, resourceOriginatingElements),
+                    new RecordingProcessor(new ExceptionRunnerProcessor(), originatingElements, resourceOriginatingElements)));
+            for (Processor otherProcessor : otherProcessors) {
+                processors.add(new RecordingProcessor(otherProcessor, originatingElements, resourceOriginatingElements));
+            }
+            task.setProcessors(processors);
+
+            boolean success = task.call();
+            assertTrue(diagnostics.getDiagnostics().toString(), success);
+        }
+        return originatingElements;
+    }
+
+    /**
+     * Compiles the given sources, and the given classes for annotation processing, with the given processors.
+     */
+    private static void compile(Map<String, String> sources, List<String> options, List<String> classNames,
+                                Processor... processors) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        sources.forEach((className, source) -> compilationUnits.add(new SourceFile(className, source)));
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, classNames, compilationUnits);
+            task.setProcessors(List.of(processors));
+
+            boolean success = task.call();
+            assertTrue(diagnostics.getDiagnostics().toString(), success);
+        }
+    }
+
+    /**
+     * In-memory Java source file.
+     */
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Processor wrapper that records the originating elements passed to {@link Filer#createSourceFile}
+     * and {@link Filer#createResource}.
+     */
+    private static class RecordingProcessor implements Processor {
+        private final Processor delegate;
+        private final Map<String, List<String>> originatingElements;
+        private final Map<String, List<String>> resourceOriginatingElements;
+
+        RecordingProcessor(Processor delegate, Map<String, List<String>> originatingElements,
+                           Map<String, List<String>> resourceOriginatingElements) {
+            this.delegate = delegate;
+            this.originatingElements = originatingElements;
+            this.resourceOriginatingElements = resourceOriginatingElements;
+        }
+
+        @Override
+        public void init(ProcessingEnvironment processingEnv) {
+            Filer filer = processingEnv.getFiler();
+            Filer recordingFiler = (Filer) Proxy.newProxyInstance(Filer.class.getClassLoader(), new Class<?>[]{Filer.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("createSourceFile")) {
+                            originatingElements.put(args[0].toString(), qualifiedNames((Element[]) args[1]));
+                        } else if (method.getName().equals("createResource")) {
+                            resourceOriginatingElements.put(args[2].toString(), qualifiedNames((Element[]) args[3]));
+                        }
+                        return invoke(method, filer, args);
+                    });
+            delegate.init((ProcessingEnvironment) Proxy.newProxyInstance(ProcessingEnvironment.class.getClassLoader(),
+                    new Class<?>[]{ProcessingEnvironment.class},
+                    (proxy, method, args) -> method.getName().equals("getFiler") ? recordingFiler : invoke(method, processingEnv, args)));
+        }
+
+        private static List<String> qualifiedNames(Element[] elements) {
+            List<String> names = new ArrayList<>();
+            for (Element element : elements) {
+                names.add(((TypeElement) element).getQualifiedName().toString());
+            }
+            return names;
+        }
+
+        private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            return delegate.process(annotations, roundEnv);
+        }
+
+        @Override
+        public Iterable<? extends javax.annotation.processing.Completion> getCompletions(Element element, AnnotationMirror annotation,
+                                                                                        ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+}